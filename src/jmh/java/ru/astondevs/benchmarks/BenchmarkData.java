@@ -0,0 +1,81 @@
+package ru.astondevs.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates input data for benchmarks.
+ *
+ * @author Alesia Sherstneva
+ */
+final class BenchmarkData {
+    /**
+     * The number of distinct values in the {@code FEW_UNIQUE} distribution.
+     */
+    private static final int FEW_UNIQUE_VALUES = 16;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns elements of the given type whose order follows the given distribution.
+     *
+     * @param type         {@code INTEGER} or {@code STRING}
+     * @param distribution {@code RANDOM}, {@code SORTED}, {@code REVERSED} or {@code FEW_UNIQUE}
+     * @param size         the number of elements
+     * @param seed         the seed of the random generator
+     * @return array of {@code Integer} or {@code String} elements
+     */
+    static Comparable<?>[] generate(String type, String distribution, int size, long seed) {
+        Random random = new Random(seed);
+        Comparable<?>[] elements = new Comparable<?>[size];
+        for (int i = 0; i < size; i++) {
+            int value;
+            switch (distribution) {
+                case "RANDOM":
+                    value = random.nextInt(Integer.MAX_VALUE);
+                    break;
+                case "SORTED":
+                    value = i;
+                    break;
+                case "REVERSED":
+                    value = size - i;
+                    break;
+                case "FEW_UNIQUE":
+                    value = random.nextInt(FEW_UNIQUE_VALUES);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown distribution " + distribution);
+            }
+            elements[i] = convert(type, value);
+        }
+        return elements;
+    }
+
+    /**
+     * Converts the value to the element of the given type. Strings are padded with zeros,
+     * so their order is the same as the order of the numbers.
+     */
+    static Comparable<?> convert(String type, int value) {
+        switch (type) {
+            case "INTEGER":
+                return value;
+            case "STRING":
+                String digits = Integer.toString(value);
+                return "0000000000".substring(digits.length()) + digits;
+            default:
+                throw new IllegalArgumentException("Unknown element type " + type);
+        }
+    }
+
+    /**
+     * Returns random indexes in the range from 0 to {@code size}, the length of the array is a power of two.
+     */
+    static int[] randomIndexes(int size, long seed) {
+        Random random = new Random(seed);
+        int[] indexes = new int[1024];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+        return indexes;
+    }
+}
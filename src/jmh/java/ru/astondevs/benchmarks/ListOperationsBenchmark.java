@@ -0,0 +1,120 @@
+package ru.astondevs.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.astondevs.CustomArrayList;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-element operations of {@link CustomArrayList} against {@link ArrayList}.
+ *
+ * @author Alesia Sherstneva
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ListOperationsBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"INTEGER", "STRING"})
+    String type;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    String distribution;
+
+    Comparable<?>[] elements;
+    CustomArrayList customList;
+    ArrayList<Object> arrayList;
+    int[] indexes;
+    int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        elements = BenchmarkData.generate(type, distribution, size, 42);
+        customList = new CustomArrayList();
+        arrayList = new ArrayList<>();
+        for (Comparable<?> element : elements) {
+            customList.add((Comparable) element);
+            arrayList.add(element);
+        }
+        indexes = BenchmarkData.randomIndexes(size, 7);
+    }
+
+    private int nextIndex() {
+        return indexes[cursor++ & (indexes.length - 1)];
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CustomArrayList customAdd() {
+        CustomArrayList list = new CustomArrayList();
+        for (Comparable<?> element : elements) {
+            list.add((Comparable) element);
+        }
+        return list;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ArrayList<Object> arrayListAdd() {
+        ArrayList<Object> list = new ArrayList<>();
+        for (Comparable<?> element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public Object customGet() {
+        return customList.get(nextIndex());
+    }
+
+    @Benchmark
+    public Object arrayListGet() {
+        return arrayList.get(nextIndex());
+    }
+
+    @Benchmark
+    public void customAddAndRemoveAtIndex() {
+        int index = nextIndex();
+        customList.add(index, (Comparable) elements[index]);
+        customList.remove(index);
+    }
+
+    @Benchmark
+    public void arrayListAddAndRemoveAtIndex() {
+        int index = nextIndex();
+        arrayList.add(index, elements[index]);
+        arrayList.remove(index);
+    }
+
+    @Benchmark
+    public boolean customContains() {
+        return customList.contains((Comparable) elements[nextIndex()]);
+    }
+
+    @Benchmark
+    public boolean arrayListContains() {
+        return arrayList.contains(elements[nextIndex()]);
+    }
+
+    @Benchmark
+    public void customRemoveByValue() {
+        Comparable element = (Comparable) elements[nextIndex()];
+        customList.remove(element);
+        customList.add(element);
+    }
+
+    @Benchmark
+    public void arrayListRemoveByValue() {
+        Object element = elements[nextIndex()];
+        arrayList.remove(element);
+        arrayList.add(element);
+    }
+}
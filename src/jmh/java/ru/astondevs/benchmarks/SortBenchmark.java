@@ -0,0 +1,84 @@
+package ru.astondevs.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import ru.astondevs.CustomArrayList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sorting of {@link CustomArrayList} against {@link Arrays#sort(Object[])} and {@link ArrayList#sort}.
+ * Every invocation sorts a fresh copy of the same input.
+ *
+ * @author Alesia Sherstneva
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class SortBenchmark {
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    int size;
+
+    @Param({"INTEGER", "STRING"})
+    String type;
+
+    @Param({"RANDOM", "SORTED", "REVERSED", "FEW_UNIQUE"})
+    String distribution;
+
+    Comparable<?>[] elements;
+    CustomArrayList customList;
+    ArrayList<Comparable> arrayList;
+    Object[] array;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        elements = BenchmarkData.generate(type, distribution, size, 42);
+        customList = new CustomArrayList(size);
+        arrayList = new ArrayList<>(size);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyInput() {
+        customList.removeRange(0, customList.size());
+        customList.addAll((Comparable[]) elements);
+        arrayList.clear();
+        arrayList.addAll(Arrays.asList((Comparable[]) elements));
+        array = elements.clone();
+    }
+
+    @Benchmark
+    public CustomArrayList customSortList() {
+        customList.sortList();
+        return customList;
+    }
+
+    @Benchmark
+    public CustomArrayList customStableSortList() {
+        customList.sortList(Comparator.naturalOrder());
+        return customList;
+    }
+
+    @Benchmark
+    public CustomArrayList customParallelSortList() {
+        customList.parallelSortList();
+        return customList;
+    }
+
+    @Benchmark
+    public Object[] arraysSort() {
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public ArrayList<Comparable> arrayListSort() {
+        arrayList.sort(null);
+        return arrayList;
+    }
+}
@@ -0,0 +1,54 @@
+package ru.astondevs;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+
+/**
+ * Releases the memory of direct and memory-mapped buffers without waiting for the garbage collector.
+ * <p>
+ * The JDK has no public API for it, so {@code sun.misc.Unsafe#invokeCleaner} is looked up with reflection.
+ * If it is not available, the buffers are left to the garbage collector.
+ *
+ * @author Alesia Sherstneva
+ */
+final class BufferCleaner {
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private BufferCleaner() {
+    }
+
+    /**
+     * Frees the memory of the given direct buffer. The buffer must not be used after this call.
+     *
+     * @param buffer direct or memory-mapped buffer
+     */
+    static void free(ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null || buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // the buffer will be freed by the garbage collector
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package ru.astondevs;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Read-only compressed list of sorted {@code int} values.
+ * <p>
+ * Values are split into blocks of 128. The first value of every block is kept in the skip index,
+ * the other values are stored as differences from the previous value in variable-byte encoding:
+ * 7 bits per byte, the high bit marks the last byte of a number. Dense sorted identifiers take
+ * one or two bytes per value instead of a reference and a boxed {@code Integer}.
+ * <p>
+ * {@link #get(int)} decodes at most one block. {@link #contains(int)} finds the block with binary search
+ * over the skip index and decodes only that block.
+ *
+ * @author Alesia Sherstneva
+ */
+public final class CompressedIntList {
+    private static final int BLOCK_SHIFT = 7;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+
+    /**
+     * The first value of every block.
+     */
+    private final int[] blockFirst;
+
+    /**
+     * The position of the encoded differences of every block in the data.
+     */
+    private final int[] blockOffset;
+
+    /**
+     * Encoded differences between neighbouring values of every block.
+     */
+    private final byte[] data;
+
+    private final int size;
+
+    private CompressedIntList(int[] blockFirst, int[] blockOffset, byte[] data, int size) {
+        this.blockFirst = blockFirst;
+        this.blockOffset = blockOffset;
+        this.data = data;
+        this.size = size;
+    }
+
+    /**
+     * Creates compressed list with the given values.
+     *
+     * @param values values sorted in ascending order
+     * @return new compressed list
+     * @throws IllegalArgumentException if the values are not sorted
+     */
+    public static CompressedIntList of(int... values) {
+        return of(values, values.length);
+    }
+
+    /**
+     * Creates compressed list with the values of the given list.
+     *
+     * @param list list of values sorted in ascending order, {@code null} elements are not allowed
+     * @return new compressed list
+     * @throws IllegalArgumentException if the values are not sorted
+     * @throws NullPointerException     if the list contains {@code null} elements
+     */
+    public static CompressedIntList of(CustomArrayList<Integer> list) {
+        int[] values = new int[list.size()];
+        CustomArrayList<Integer>.Cursor cursor = list.cursor();
+        while (cursor.advance()) {
+            values[cursor.index()] = Objects.requireNonNull(cursor.element(), "Element should not be null");
+        }
+        return of(values, values.length);
+    }
+
+    /**
+     * Encodes the first {@code size} values of the array.
+     */
+    static CompressedIntList of(int[] values, int size) {
+        int blockCount = (size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+        int[] blockFirst = new int[blockCount];
+        int[] blockOffset = new int[blockCount];
+        byte[] data = new byte[Math.max(size, 16)];
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            if ((i & (BLOCK_SIZE - 1)) == 0) {
+                blockFirst[i >>> BLOCK_SHIFT] = values[i];
+                blockOffset[i >>> BLOCK_SHIFT] = position;
+                continue;
+            }
+            if (values[i] < values[i - 1]) {
+                throw new IllegalArgumentException("Values should be sorted in ascending order");
+            }
+            if (position + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length + (data.length >> 1) + 5);
+            }
+            long delta = (long) values[i] - values[i - 1];
+            while (delta >= 0x80) {
+                data[position++] = (byte) (delta & 0x7F);
+                delta >>>= 7;
+            }
+            data[position++] = (byte) (delta | 0x80);
+        }
+        return new CompressedIntList(blockFirst, blockOffset, Arrays.copyOf(data, position), size);
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public int get(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (index > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+        int block = index >>> BLOCK_SHIFT;
+        int value = blockFirst[block];
+        int position = blockOffset[block];
+        for (int i = index & (BLOCK_SIZE - 1); i > 0; i--) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            while ((b = data[position++]) >= 0) {
+                delta |= (long) b << shift;
+                shift += 7;
+            }
+            value += (int) (delta | (long) (b & 0x7F) << shift);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the given value is in the list.
+     *
+     * @param value value to be found in the list
+     * @return {@code true} if the list contains given value
+     */
+    public boolean contains(int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given value.
+     * The block is found with binary search over the skip index and only this block is decoded.
+     *
+     * @param value value to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(int value) {
+        int low = 0;
+        int high = blockFirst.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (blockFirst[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        // equal values may start in the previous block
+        int block = low - 1;
+        if (low < blockFirst.length && blockFirst[low] == value && (block < 0 || lastValue(block) != value)) {
+            return low << BLOCK_SHIFT;
+        }
+        if (block < 0) {
+            return -1;
+        }
+        int current = blockFirst[block];
+        int position = blockOffset[block];
+        int count = Math.min(BLOCK_SIZE, size - (block << BLOCK_SHIFT));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                while ((b = data[position++]) >= 0) {
+                    delta |= (long) b << shift;
+                    shift += 7;
+                }
+                current += (int) (delta | (long) (b & 0x7F) << shift);
+            }
+            if (current == value) {
+                return (block << BLOCK_SHIFT) + i;
+            }
+            if (current > value) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private int lastValue(int block) {
+        return get(Math.min((block + 1) << BLOCK_SHIFT, size) - 1);
+    }
+
+    /**
+     * Performs the given action for every value of the list in order, decoding every block once.
+     *
+     * @param action the action to be performed for every value
+     */
+    public void forEach(IntConsumer action) {
+        Objects.requireNonNull(action);
+        int position = 0;
+        int value = 0;
+        for (int i = 0; i < size; i++) {
+            if ((i & (BLOCK_SIZE - 1)) == 0) {
+                value = blockFirst[i >>> BLOCK_SHIFT];
+            } else {
+                long delta = 0;
+                int shift = 0;
+                byte b;
+                while ((b = data[position++]) >= 0) {
+                    delta |= (long) b << shift;
+                    shift += 7;
+                }
+                value += (int) (delta | (long) (b & 0x7F) << shift);
+            }
+            action.accept(value);
+        }
+    }
+
+    /**
+     * Returns a new array which contains all values of the list in the same order.
+     *
+     * @return array of values
+     */
+    public int[] toArray() {
+        int[] values = new int[size];
+        int[] index = {0};
+        forEach(value -> values[index[0]++] = value);
+        return values;
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the encoded values and the skip index.
+     *
+     * @return the size of the compressed data in bytes
+     */
+    public long sizeInBytes() {
+        return data.length + 8L * blockFirst.length;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        forEach(value -> {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+            result.append(value);
+        });
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,216 @@
+package ru.astondevs;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Append-only list for many producer threads that never blocks them.
+ * <p>
+ * Elements are stored in segments whose sizes grow as powers of two: segment {@code k} holds
+ * {@code 2^(k + 4)} elements, so an index is mapped to its segment with one bit operation.
+ * A producer reserves a slot with an atomic increment, allocates the segment with compare-and-set if it is
+ * missing and writes the element with volatile semantics. Existing segments are never copied,
+ * so growth never stops other producers.
+ * <p>
+ * The published size is the length of the prefix of slots that are already written. Elements up to
+ * the published size can be read by index from any thread. A single consumer thread can transfer
+ * published elements with {@link #drainTo(Consumer, int)}; drained slots are released, and a segment
+ * is removed from the segment table as soon as its last slot is drained, so a long-running buffer keeps
+ * only the segments of elements that are not drained yet.
+ * {@code null} elements are not allowed.
+ *
+ * @param <E> the type of elements in this buffer
+ * @author Alesia Sherstneva
+ */
+public class ConcurrentAppendBuffer<E> {
+    /**
+     * The size of the first segment is {@code 2^FIRST_SEGMENT_SHIFT}.
+     */
+    private static final int FIRST_SEGMENT_SHIFT = 4;
+
+    /**
+     * The number of segments which is enough for {@code Integer.MAX_VALUE} elements.
+     */
+    private static final int SEGMENT_COUNT = 32 - FIRST_SEGMENT_SHIFT;
+
+    /**
+     * The maximum number of elements in the buffer.
+     */
+    private static final int MAX_SIZE = Integer.MAX_VALUE - (1 << FIRST_SEGMENT_SHIFT);
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments =
+            new AtomicReferenceArray<>(SEGMENT_COUNT);
+
+    /**
+     * The number of reserved slots.
+     */
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    /**
+     * The length of the prefix of slots that are written.
+     */
+    private final AtomicInteger published = new AtomicInteger();
+
+    /**
+     * The index of the first element that is not drained yet. Changed only by the consumer.
+     */
+    private volatile int drained;
+
+    /**
+     * Appends new element to the end of the buffer. The method never blocks.
+     *
+     * @param element new element to add
+     * @return the index of the element
+     * @throws NullPointerException  if the element is null
+     * @throws IllegalStateException if the buffer is full
+     */
+    public int add(E element) {
+        Objects.requireNonNull(element, "Element should not be null");
+        int index = reserved.getAndIncrement();
+        if (index >= MAX_SIZE || index < 0) {
+            reserved.set(MAX_SIZE);
+            throw new IllegalStateException("Buffer can't hold more elements");
+        }
+        int position = index + (1 << FIRST_SEGMENT_SHIFT);
+        int segmentIndex = 31 - Integer.numberOfLeadingZeros(position) - FIRST_SEGMENT_SHIFT;
+        segment(segmentIndex).set(position - Integer.highestOneBit(position), element);
+        advancePublished();
+        return index;
+    }
+
+    /**
+     * Returns the element at the given position in the buffer.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is not less than the published size
+     * @throws IllegalStateException     if the element has been drained
+     */
+    public E get(int index) {
+        int size = published.get();
+        if (index < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+        Object element = slot(index);
+        if (element == null) {
+            throw new IllegalStateException(String.format("Element %d has been drained", index));
+        }
+        return (E) element;
+    }
+
+    /**
+     * Returns the published size of the buffer: all elements with lesser indexes are written.
+     *
+     * @return the number of published elements
+     */
+    public int size() {
+        return advancePublished();
+    }
+
+    /**
+     * Transfers published elements which are not drained yet to the consumer in index order
+     * and releases their slots. Must be called by one consumer thread at a time.
+     *
+     * @param consumer    the consumer of elements
+     * @param maxElements the maximum number of elements to transfer
+     * @return the number of transferred elements
+     */
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        Objects.requireNonNull(consumer);
+        int from = drained;
+        int to = (int) Math.min((long) from + Math.max(maxElements, 0), advancePublished());
+        for (int index = from; index < to; index++) {
+            int position = index + (1 << FIRST_SEGMENT_SHIFT);
+            int segmentIndex = 31 - Integer.numberOfLeadingZeros(position) - FIRST_SEGMENT_SHIFT;
+            AtomicReferenceArray<Object> segment = segments.get(segmentIndex);
+            int offset = position - Integer.highestOneBit(position);
+            E element = (E) segment.get(offset);
+            if (offset == segment.length() - 1) {
+                // every slot of the segment is written and drained, producers never use it again
+                segments.set(segmentIndex, null);
+            } else {
+                segment.lazySet(offset, null);
+            }
+            drained = index + 1;
+            consumer.accept(element);
+        }
+        return to - from;
+    }
+
+    /**
+     * Transfers all published elements which are not drained yet to the list.
+     * The capacity of the list is increased at most once.
+     *
+     * @param target the list to append elements to
+     * @return the number of transferred elements
+     */
+    public int drainTo(CustomArrayList<? super E> target) {
+        int available = advancePublished() - drained;
+        target.ensureCapacity(target.size() + available);
+        return drainTo(element -> target.add(element), available);
+    }
+
+    /**
+     * Moves the published size over all slots that are written.
+     * Producers call it after every write, so an element stays unpublished only while an earlier
+     * slot is reserved but not written yet.
+     */
+    private int advancePublished() {
+        int current = published.get();
+        int limit = reserved.get();
+        if (limit > MAX_SIZE || limit < 0) {
+            limit = MAX_SIZE;
+        }
+        int next = current;
+        while (next < limit && slot(next) != null) {
+            next++;
+        }
+        while (next > current) {
+            if (published.compareAndSet(current, next)) {
+                return next;
+            }
+            current = published.get();
+        }
+        return current;
+    }
+
+    /**
+     * Returns the number of segments in the segment table.
+     */
+    int allocatedSegments() {
+        int count = 0;
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            if (segments.get(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Object slot(int index) {
+        int position = index + (1 << FIRST_SEGMENT_SHIFT);
+        int segmentIndex = 31 - Integer.numberOfLeadingZeros(position) - FIRST_SEGMENT_SHIFT;
+        AtomicReferenceArray<Object> segment = segments.get(segmentIndex);
+        return segment == null ? null : segment.get(position - Integer.highestOneBit(position));
+    }
+
+    private AtomicReferenceArray<Object> segment(int segmentIndex) {
+        AtomicReferenceArray<Object> segment = segments.get(segmentIndex);
+        if (segment == null) {
+            AtomicReferenceArray<Object> newSegment =
+                    new AtomicReferenceArray<>(1 << (segmentIndex + FIRST_SEGMENT_SHIFT));
+            if (segments.compareAndSet(segmentIndex, null, newSegment)) {
+                segment = newSegment;
+            } else {
+                segment = segments.get(segmentIndex);
+            }
+        }
+        return segment;
+    }
+}
@@ -0,0 +1,338 @@
+package ru.astondevs;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Thread-safe version of {@link CustomArrayList}.
+ * <p>
+ * Modifications are performed under the write mode of a {@link StampedLock}. Reads of {@link #get(int)},
+ * {@link #size()} and {@link #contains(Comparable)} first run as optimistic reads without any locking
+ * and are retried under the read lock only if a modification happened at the same time.
+ * So readers don't block each other and don't block writers. When the backing array grows, the new array
+ * is filled completely before it is published through a volatile field, so a reader never sees
+ * a partially copied array.
+ *
+ * @param <E> the type of elements in this list
+ * @author Alesia Sherstneva
+ */
+public class ConcurrentCustomArrayList<E extends Comparable<E>> implements Comparator<E> {
+    /**
+     * The maximum capacity of the backing array. Some VMs reserve header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * The array of objects which contains elements of the list.
+     */
+    private volatile Object[] list;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private volatile int size;
+
+    /**
+     * The policy that decides how much the backing array grows when it is full.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Constructor that creates empty list with default capacity of 10.
+     */
+    public ConcurrentCustomArrayList() {
+        this(10);
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity.
+     *
+     * @param capacity the initial capacity of new list
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     */
+    public ConcurrentCustomArrayList(int capacity) {
+        this(capacity, GrowthPolicy.geometric());
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity and the given growth policy.
+     *
+     * @param capacity     the initial capacity of new list
+     * @param growthPolicy the policy that decides how much the list grows when it is full
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     * @throws NullPointerException     if the growth policy is null
+     */
+    public ConcurrentCustomArrayList(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should be a positive number or zero");
+        } else if (capacity == 0) {
+            capacity = 10;
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "Growth policy should not be null");
+        list = new Object[capacity];
+    }
+
+    /**
+     * Appends new element to the end of the list.
+     *
+     * @param element new element to add
+     */
+    public void add(E element) {
+        long stamp = lock.writeLock();
+        try {
+            Object[] elements = ensureCapacity(size + 1);
+            elements[size] = element;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Inserts the new element at the given position in the list.
+     * The element at that position and all following elements are moving to the right by one position.
+     *
+     * @param index   index where the new element will be inserted
+     * @param element new element to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            Object[] elements = ensureCapacity(size + 1);
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+            size++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the backing array that can hold the given number of elements.
+     * Must be called under the write lock.
+     */
+    private Object[] ensureCapacity(int minCapacity) {
+        Object[] elements = list;
+        if (minCapacity <= elements.length) {
+            return elements;
+        }
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        int newCapacity = Math.min(Math.max(growthPolicy.newCapacity(elements.length, minCapacity), minCapacity),
+                MAX_CAPACITY);
+        Object[] newElements = Arrays.copyOf(elements, newCapacity);
+        list = newElements;
+        return newElements;
+    }
+
+    /**
+     * Replaces the element in the given position with the new element.
+     *
+     * @param index   index where the new element will be replaced
+     * @param element new element to replace
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            list[index] = element;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * All following elements are moving to the left by one position.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            removeAt(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void removeAt(int index) {
+        Object[] elements = list;
+        int newSize = size - 1;
+        System.arraycopy(elements, index + 1, elements, index, newSize - index);
+        elements[newSize] = null;
+        size = newSize;
+    }
+
+    /**
+     * Removes from the list the first element that is equal to given element.
+     * If the list doesn't contain a given element, the method does nothing.
+     *
+     * @param element element to be removed
+     */
+    public void remove(E element) {
+        long stamp = lock.writeLock();
+        try {
+            int index = indexOf(list, size, element);
+            if (index >= 0) {
+                removeAt(index);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] elements = list;
+            int currentSize = size;
+            Object element = index >= 0 && index < currentSize && index < elements.length ? elements[index] : null;
+            if (lock.validate(stamp)) {
+                checkIndex(index, currentSize);
+                return (E) element;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            checkIndex(index, size);
+            return (E) list[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the given element is in the list.
+     *
+     * @param element element to be found in the list
+     * @return {@code true} if the list contains given element
+     */
+    public boolean contains(E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given element.
+     *
+     * @param element element to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(E element) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            int index = indexOf(list, size, element);
+            if (lock.validate(stamp)) {
+                return index;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return indexOf(list, size, element);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Scans the array. The size may be inconsistent with the array during an optimistic read,
+     * so the scan never goes past the end of the array.
+     */
+    private static int indexOf(Object[] elements, int size, Object element) {
+        int length = Math.min(size, elements.length);
+        for (int i = 0; i < length; i++) {
+            if (Objects.equals(element, elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (index > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, size));
+        }
+    }
+
+    @Override
+    public int compare(E object1, E object2) {
+        return object1.compareTo(object2);
+    }
+
+    /**
+     * Sorts the elements in the list from lesser to greater. Readers wait until the sort is finished.
+     */
+    public void sortList() {
+        long stamp = lock.writeLock();
+        try {
+            Sorting.introSort(list, 0, size, this);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Sorts the elements in the list in the order defined by the given comparator. The sort is stable.
+     * Readers wait until the sort is finished.
+     *
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     */
+    public void sortList(Comparator<? super E> comparator) {
+        long stamp = lock.writeLock();
+        try {
+            TimSort.sort(list, 0, size, comparator == null ? this : comparator);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long stamp = lock.readLock();
+        try {
+            StringBuilder result = new StringBuilder().append("[");
+            for (int i = 0; i < size; i++) {
+                if (i != 0) {
+                    result.append(", ");
+                }
+                result.append(list[i]);
+            }
+            return result.append("]").toString();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+package ru.astondevs;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Version of {@link CustomArrayList} backed by a circular buffer.
+ * <p>
+ * The first element may be stored at any position of the backing array and the elements wrap around its end,
+ * so adding and removing elements at both ends takes constant time. Indexed access works like
+ * in {@code CustomArrayList}: the index is just shifted by the position of the first element.
+ * Inserting or removing an element in the middle moves the shorter side of the list.
+ * <p>
+ * A list created with {@link #bounded(int)} never grows: when it is full, adding an element at one end
+ * overwrites the element at the other end, so the list keeps a sliding window of the latest elements.
+ *
+ * @param <E> the type of elements in this list
+ * @author Alesia Sherstneva
+ */
+public class CustomArrayDeque<E> {
+    /**
+     * The maximum capacity of the backing array. Some VMs reserve header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The array of objects which contains elements of the list.
+     */
+    private Object[] list;
+
+    /**
+     * The position of the first element in the backing array.
+     */
+    private int head;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private int size;
+
+    /**
+     * The policy that decides how much the backing array grows when it is full,
+     * or {@code null} if the list is bounded.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Constructor that creates empty list with default capacity of 10.
+     */
+    public CustomArrayDeque() {
+        this(10);
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity.
+     *
+     * @param capacity the initial capacity of new list
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     */
+    public CustomArrayDeque(int capacity) {
+        this(capacity, GrowthPolicy.geometric());
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity and the given growth policy.
+     *
+     * @param capacity     the initial capacity of new list
+     * @param growthPolicy the policy that decides how much the list grows when it is full
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     * @throws NullPointerException     if the growth policy is null
+     */
+    public CustomArrayDeque(int capacity, GrowthPolicy growthPolicy) {
+        this(capacity, Objects.requireNonNull(growthPolicy, "Growth policy should not be null"), false);
+    }
+
+    private CustomArrayDeque(int capacity, GrowthPolicy growthPolicy, boolean bounded) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should be a positive number or zero");
+        } else if (capacity == 0 && !bounded) {
+            capacity = 10;
+        }
+        this.growthPolicy = growthPolicy;
+        list = new Object[capacity];
+    }
+
+    /**
+     * Creates empty list of fixed capacity that overwrites the oldest elements when it is full.
+     *
+     * @param capacity the maximum number of elements in the list
+     * @param <E>      the type of elements in the list
+     * @return new bounded list
+     * @throws IllegalArgumentException if the capacity is not a positive number
+     */
+    public static <E> CustomArrayDeque<E> bounded(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity should be a positive number");
+        }
+        return new CustomArrayDeque<>(capacity, null, true);
+    }
+
+    /**
+     * Checks if the list has fixed capacity and overwrites elements when it is full.
+     *
+     * @return {@code true} if the list is bounded
+     */
+    public boolean isBounded() {
+        return growthPolicy == null;
+    }
+
+    /**
+     * Appends new element to the end of the list. Same as {@link #addLast(Object)}.
+     *
+     * @param element new element to add
+     */
+    public void add(E element) {
+        addLast(element);
+    }
+
+    /**
+     * Inserts new element at the beginning of the list.
+     * If the list is bounded and full, the last element is overwritten.
+     *
+     * @param element new element to add
+     */
+    public void addFirst(E element) {
+        if (size == list.length) {
+            if (isBounded()) {
+                head = decrement(head);
+                list[head] = element;
+                return;
+            }
+            increaseCapacity(size + 1);
+        }
+        head = decrement(head);
+        list[head] = element;
+        size++;
+    }
+
+    /**
+     * Appends new element to the end of the list.
+     * If the list is bounded and full, the first (the oldest) element is overwritten.
+     *
+     * @param element new element to add
+     */
+    public void addLast(E element) {
+        if (size == list.length) {
+            if (isBounded()) {
+                list[head] = element;
+                head = increment(head);
+                return;
+            }
+            increaseCapacity(size + 1);
+        }
+        list[position(size)] = element;
+        size++;
+    }
+
+    /**
+     * Inserts the new element at the given position in the list.
+     * The shorter side of the list is moving by one position.
+     *
+     * @param index   index where the new element will be inserted
+     * @param element new element to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     * @throws IllegalStateException     if the list is bounded and full
+     */
+    public void add(int index, E element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (size == list.length) {
+            if (isBounded()) {
+                throw new IllegalStateException("Bounded list is full");
+            }
+            increaseCapacity(size + 1);
+        }
+        if (index < size - index) {
+            head = decrement(head);
+            for (int i = 0; i < index; i++) {
+                list[position(i)] = list[position(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                list[position(i)] = list[position(i - 1)];
+            }
+        }
+        list[position(index)] = element;
+        size++;
+    }
+
+    private void increaseCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        int newCapacity = Math.min(Math.max(growthPolicy.newCapacity(list.length, minCapacity), minCapacity),
+                MAX_CAPACITY);
+        list = toArray(newCapacity);
+        head = 0;
+    }
+
+    /**
+     * Replaces the element in the given position with the new element.
+     *
+     * @param index   index where the new element will be replaced
+     * @param element new element to replace
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void set(int index, E element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        list[position(index)] = element;
+    }
+
+    /**
+     * Removes and returns the first element of the list.
+     *
+     * @return the removed element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        E element = (E) list[head];
+        list[head] = null;
+        head = increment(head);
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes and returns the last element of the list.
+     *
+     * @return the removed element
+     * @throws NoSuchElementException if the list is empty
+     */
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        int last = position(size - 1);
+        E element = (E) list[last];
+        list[last] = null;
+        size--;
+        return element;
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * The shorter side of the list is moving by one position.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void remove(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (index < size - index - 1) {
+            for (int i = index; i > 0; i--) {
+                list[position(i)] = list[position(i - 1)];
+            }
+            list[head] = null;
+            head = increment(head);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                list[position(i)] = list[position(i + 1)];
+            }
+            list[position(size - 1)] = null;
+        }
+        size--;
+    }
+
+    /**
+     * Removes from the list the first element that is equal to given element.
+     * If the list doesn't contain a given element, the method does nothing.
+     *
+     * @param element element to be removed
+     */
+    public void remove(E element) {
+        int index = indexOf(element);
+        if (index >= 0) {
+            remove(index);
+        }
+    }
+
+    /**
+     * Returns the first element of the list without removing it.
+     *
+     * @return the first element, or {@code null} if the list is empty
+     */
+    public E peekFirst() {
+        return size == 0 ? null : (E) list[head];
+    }
+
+    /**
+     * Returns the last element of the list without removing it.
+     *
+     * @return the last element, or {@code null} if the list is empty
+     */
+    public E peekLast() {
+        return size == 0 ? null : (E) list[position(size - 1)];
+    }
+
+    /**
+     * Returns the first element of the list without removing it. Same as {@link #peekFirst()}.
+     *
+     * @return the first element, or {@code null} if the list is empty
+     */
+    public E peek() {
+        return peekFirst();
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public E get(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        return (E) list[position(index)];
+    }
+
+    private void throwWrongIndexException(int wrongIndex) {
+        if (wrongIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (wrongIndex > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", wrongIndex, size));
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list contains no elements.
+     *
+     * @return {@code true} if the list is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the capacity of the list (the length of its backing array).
+     *
+     * @return the number of elements the list can hold without growing
+     */
+    public int capacity() {
+        return list.length;
+    }
+
+    /**
+     * Checks if the given element is in the list.
+     *
+     * @param element element to be found in the list
+     * @return {@code true} if the list contains given element
+     */
+    public boolean contains(E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given element.
+     *
+     * @param element element to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(E element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, list[position(i)])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a new array which contains all elements of the list in the same order.
+     *
+     * @return array of elements
+     */
+    public Object[] toArray() {
+        return toArray(size);
+    }
+
+    /**
+     * Copies elements in order into a new array of the given length with two bulk copies.
+     */
+    private Object[] toArray(int length) {
+        Object[] elements = new Object[length];
+        int firstPart = Math.min(size, list.length - head);
+        System.arraycopy(list, head, elements, 0, firstPart);
+        System.arraycopy(list, 0, elements, firstPart, size - firstPart);
+        return elements;
+    }
+
+    /**
+     * Returns the position of the element with the given index in the backing array.
+     */
+    private int position(int index) {
+        int position = head + index;
+        return position >= list.length ? position - list.length : position;
+    }
+
+    private int increment(int position) {
+        return ++position == list.length ? 0 : position;
+    }
+
+    private int decrement(int position) {
+        return (position == 0 ? list.length : position) - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(list[position(i)]);
+        }
+        return result.append("]").toString();
+    }
+}
@@ -1,6 +1,28 @@
 package ru.astondevs;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Custom version of the class {@code ArrayList}.
@@ -11,7 +33,12 @@ import java.util.Comparator;
  * @param <E> the type of elements in this list
  * @author Alesia Sherstneva
  */
-public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
+public class CustomArrayList<E extends Comparable<E>> implements Comparator<E>, Iterable<E> {
+    /**
+     * The maximum capacity of the backing array. Some VMs reserve header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
     /**
      * The array of objects which contains elements of the CustomArrayList.
      */
@@ -22,11 +49,52 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
      */
     private int size;
 
+    /**
+     * The number of structural modifications (changes of size or order of elements).
+     * Iterators use it to fail fast when the list is modified during iteration.
+     */
+    private int modCount;
+
+    /**
+     * The policy that decides how much the backing array grows when it is full.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Shows that the elements are known to be in natural order, so they can be found with binary search.
+     */
+    private boolean sorted;
+
+    /**
+     * Shows that membership checks should use the hash index.
+     */
+    private boolean lookupIndexEnabled;
+
+    /**
+     * The number of occurrences of every element, or {@code null} if the index is disabled or not built yet.
+     */
+    private Map<Object, int[]> lookupIndex;
+
+    /**
+     * Shows that the backing array is shared with snapshots and must be copied before elements are changed.
+     */
+    private boolean shared;
+
+    /**
+     * Shows that the list is a snapshot and can't be modified.
+     */
+    private final boolean readOnly;
+
+    /**
+     * The listener of expensive operations, or {@code null} if metrics are disabled.
+     */
+    private ListMetricsListener metricsListener;
+
     /**
      * Constructor that creates empty CustomArrayList with default capacity of 10.
      */
     public CustomArrayList() {
-        list = new Object[10];
+        this(10);
     }
 
     /**
@@ -36,30 +104,61 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
      * @throws IllegalArgumentException if the initial capacity is less than 0
      */
     public CustomArrayList(int capacity) {
+        this(capacity, GrowthPolicy.geometric());
+    }
+
+    /**
+     * Constructor that creates empty CustomArrayList with initial capacity and the given growth policy.
+     *
+     * @param capacity     the initial capacity of new CustomArrayList
+     * @param growthPolicy the policy that decides how much the list grows when it is full
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     * @throws NullPointerException     if the growth policy is null
+     */
+    public CustomArrayList(int capacity, GrowthPolicy growthPolicy) {
         if (capacity < 0) {
             throw new IllegalArgumentException("Capacity should be a positive number or zero");
         } else if (capacity == 0) {
             capacity = 10;
         }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "Growth policy should not be null");
+        this.readOnly = false;
         list = new Object[capacity];
     }
 
+    /**
+     * Constructor that creates CustomArrayList which uses the given array as its backing array.
+     */
+    private CustomArrayList(Object[] elements, int size, boolean readOnly) {
+        this.growthPolicy = GrowthPolicy.geometric();
+        this.list = elements.length == 0 ? new Object[10] : elements;
+        this.size = size;
+        this.readOnly = readOnly;
+        this.shared = readOnly;
+    }
+
     /**
      * Appends new element to the end of the list.
      *
      * @param element new element to add
      */
     public void add(E element) {
+        checkWritable();
         if (size == list.length) {
-            increaseCapacity();
+            increaseCapacity(size + 1);
+        }
+        if (sorted && size > 0 && (element == null || compare((E) list[size - 1], element) > 0)) {
+            sorted = false;
         }
+        indexAdd(element);
         list[size++] = element;
+        modCount++;
     }
 
     /**
      * Inserts the new element at the given position in the list.
      * The element at that position and all following elements are moving to the right by one position.
-     * If the capacity becomes less than the total number of elements, it is increase by 10.
+     * If the capacity becomes less than the total number of elements, it is increased by the growth policy.
      *
      * @param index   index where the new element will be inserted
      * @param element new element to insert
@@ -70,20 +169,127 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
         if (index < 0 || index > size - 1) {
             throwWrongIndexException(index);
         }
+        beforeModification();
         if (size == list.length) {
-            increaseCapacity();
+            increaseCapacity(size + 1);
         }
-        for (int i = size; i > index; i--) {
-            list[i] = list[i - 1];
+        long start = metricsListener == null ? 0 : System.nanoTime();
+        System.arraycopy(list, index, list, index + 1, size - index);
+        if (metricsListener != null) {
+            metricsListener.shifted(size - index, System.nanoTime() - start);
         }
         list[index] = element;
         size++;
+        modCount++;
+        sorted = false;
+        indexAdd(element);
+    }
+
+    /**
+     * Appends all given elements to the end of the list.
+     * The capacity is increased at most once.
+     *
+     * @param elements elements to add
+     */
+    public void addAll(E... elements) {
+        checkWritable();
+        int count = elements.length;
+        if (count == 0) {
+            return;
+        }
+        if (size + count > list.length) {
+            increaseCapacity(size + count);
+        }
+        System.arraycopy(elements, 0, list, size, count);
+        size += count;
+        modCount++;
+        sorted = false;
+        indexAddAll(elements);
+    }
+
+    /**
+     * Inserts all elements of the given collection at the given position in the list,
+     * in the order they are returned by the collection's iterator.
+     * The element at that position and all following elements are moving to the right with a single block copy.
+     * Unlike {@link #add(int, Comparable)}, the index may be equal to the size of the list.
+     *
+     * @param index    index where the first element of the collection will be inserted
+     * @param elements collection of elements to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void addAll(int index, Collection<? extends E> elements) {
+        if (index < 0 || index > size) {
+            throwWrongIndexException(index);
+        }
+        beforeModification();
+        Object[] inserted = elements.toArray();
+        int count = inserted.length;
+        if (count == 0) {
+            return;
+        }
+        if (size + count > list.length) {
+            increaseCapacity(size + count);
+        }
+        long start = metricsListener == null ? 0 : System.nanoTime();
+        System.arraycopy(list, index, list, index + count, size - index);
+        if (metricsListener != null && index < size) {
+            metricsListener.shifted(size - index, System.nanoTime() - start);
+        }
+        System.arraycopy(inserted, 0, list, index, count);
+        size += count;
+        modCount++;
+        sorted = false;
+        indexAddAll(inserted);
+    }
+
+    private void increaseCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        int newCapacity = Math.min(Math.max(growthPolicy.newCapacity(list.length, minCapacity), minCapacity),
+                MAX_CAPACITY);
+        ListMetricsListener listener = metricsListener;
+        long start = listener == null ? 0 : System.nanoTime();
+        int oldCapacity = list.length;
+        list = Arrays.copyOf(list, newCapacity);
+        shared = false;
+        if (listener != null) {
+            listener.resized(oldCapacity, newCapacity, oldCapacity, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Increases the capacity of the list, if necessary, so that it can hold at least the given number of elements
+     * without growing again. Useful before bulk loads.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        checkWritable();
+        if (minCapacity > list.length) {
+            increaseCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * Trims the capacity of the list to its current size, releasing unused slots.
+     */
+    public void trimToSize() {
+        checkWritable();
+        if (size < list.length) {
+            list = Arrays.copyOf(list, size);
+            shared = false;
+        }
     }
 
-    private void increaseCapacity() {
-        Object[] newList = new Object[list.length + 10];
-        System.arraycopy(list, 0, newList, 0, size);
-        list = newList;
+    /**
+     * Returns the capacity of the list (the length of its backing array).
+     *
+     * @return the number of elements the list can hold without growing
+     */
+    public int capacity() {
+        return list.length;
     }
 
     /**
@@ -98,7 +304,11 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
         if (index < 0 || index > size - 1) {
             throwWrongIndexException(index);
         }
+        beforeModification();
+        indexRemove(list[index]);
+        indexAdd(element);
         list[index] = element;
+        sorted = false;
     }
 
     /**
@@ -113,14 +323,134 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
         if (index < 0 || index > size - 1) {
             throwWrongIndexException(index);
         }
-        for (int i = index; i < size; i++) {
-            if (i != size - 1) {
-                list[i] = list[i + 1];
+        beforeModification();
+        indexRemove(list[index]);
+        long start = metricsListener == null ? 0 : System.nanoTime();
+        System.arraycopy(list, index + 1, list, index, size - index - 1);
+        if (metricsListener != null && index < size - 1) {
+            metricsListener.shifted(size - index - 1, System.nanoTime() - start);
+        }
+        list[--size] = null;
+        modCount++;
+    }
+
+    /**
+     * Removes all elements whose index is between {@code fromIndex}, inclusive, and {@code toIndex}, exclusive.
+     * All following elements are moving to the left with a single block copy.
+     *
+     * @param fromIndex index of the first element to be removed
+     * @param toIndex   index after the last element to be removed
+     * @throws IllegalArgumentException  if any index is less than zero or {@code fromIndex} is greater than
+     *                                   {@code toIndex}
+     * @throws IndexOutOfBoundsException if {@code toIndex} is greater than size of the list
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        if (fromIndex == toIndex) {
+            return;
+        }
+        beforeModification();
+        for (int i = fromIndex; lookupIndex != null && i < toIndex; i++) {
+            indexRemove(list[i]);
+        }
+        long start = metricsListener == null ? 0 : System.nanoTime();
+        System.arraycopy(list, toIndex, list, fromIndex, size - toIndex);
+        if (metricsListener != null && toIndex < size) {
+            metricsListener.shifted(size - toIndex, System.nanoTime() - start);
+        }
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(list, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    /**
+     * Removes all elements that satisfy the given predicate.
+     * The predicate is first tested for every element and the matches are kept in a bit set, so the list
+     * is not changed if the predicate throws an exception. Then the remaining elements are compacted
+     * in a single pass, keeping their order. The backing array is not copied if nothing is removed.
+     *
+     * @param filter predicate which returns {@code true} for elements to be removed
+     * @return {@code true} if any elements were removed
+     * @throws ConcurrentModificationException if the list is structurally modified by the predicate
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        checkWritable();
+        int expectedModCount = modCount;
+        long[] matches = new long[(size + 63) >>> 6];
+        int removed = 0;
+        for (int i = 0; i < size; i++) {
+            if (filter.test((E) list[i])) {
+                matches[i >>> 6] |= 1L << i;
+                removed++;
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        if (removed == 0) {
+            return false;
+        }
+        beforeModification();
+        int newSize = 0;
+        for (int i = 0; i < size; i++) {
+            if ((matches[i >>> 6] & (1L << i)) == 0) {
+                list[newSize++] = list[i];
             } else {
-                list[i] = null;
+                indexRemove(list[i]);
             }
         }
-        size--;
+        Arrays.fill(list, newSize, size, null);
+        size = newSize;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Retains only the elements of the list that are contained in the given collection.
+     *
+     * @param elements collection of elements to be retained
+     * @return {@code true} if any elements were removed
+     */
+    public boolean retainAll(Collection<?> elements) {
+        Objects.requireNonNull(elements);
+        return removeIf(element -> !elements.contains(element));
+    }
+
+    /**
+     * Removes all elements from the list. The capacity is kept, so the list can be filled again
+     * without growing. The list becomes sorted: elements appended in natural order keep it sorted.
+     */
+    public void clear() {
+        clear(false);
+    }
+
+    /**
+     * Removes all elements from the list.
+     *
+     * @param shrink {@code true} to replace the backing array with an array of the default capacity of 10,
+     *               {@code false} to keep the capacity
+     * @throws UnsupportedOperationException if the list is a read-only snapshot
+     */
+    public void clear(boolean shrink) {
+        checkWritable();
+        if (shrink) {
+            list = new Object[10];
+            shared = false;
+        } else if (shared) {
+            // snapshots keep the old array, there is nothing to copy
+            list = new Object[list.length];
+            shared = false;
+        } else {
+            Arrays.fill(list, 0, size, null);
+        }
+        size = 0;
+        modCount++;
+        sorted = true;
+        if (lookupIndex != null) {
+            lookupIndex.clear();
+        }
     }
 
     /**
@@ -130,11 +460,9 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
      * @param element element to be removed
      */
     public void remove(E element) {
-        for (int i = 0; i < size; i++) {
-            if (element.equals(list[i])) {
-                remove(i);
-                return;
-            }
+        int index = indexOf(element);
+        if (index >= 0) {
+            remove(index);
         }
     }
 
@@ -162,6 +490,71 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
         }
     }
 
+    /**
+     * Returns an immutable snapshot of the list in constant time.
+     * The snapshot shares the backing array with the list. The next change of existing elements of the list
+     * copies the array once, so the snapshot never changes and readers of the snapshot never see
+     * a half-shifted array. Appending elements to the end of the list doesn't copy the array,
+     * because the snapshot never reads slots past its size.
+     * <p>
+     * The snapshot can be read by many threads at the same time, if it is published safely,
+     * for example through a volatile field or a concurrent collection.
+     *
+     * @return read-only list with the current elements of the list
+     */
+    public CustomArrayList<E> snapshot() {
+        if (readOnly) {
+            return this;
+        }
+        shared = true;
+        CustomArrayList<E> snapshot = new CustomArrayList<>(list, size, true);
+        snapshot.sorted = sorted;
+        return snapshot;
+    }
+
+    /**
+     * Checks if the list is a read-only snapshot.
+     *
+     * @return {@code true} if the list can't be modified
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+    }
+
+    /**
+     * Must be called before elements of the backing array below size are changed.
+     * Copies the array if it is shared with snapshots.
+     */
+    private void beforeModification() {
+        checkWritable();
+        if (shared) {
+            list = Arrays.copyOf(list, list.length);
+            shared = false;
+            if (metricsListener != null) {
+                metricsListener.copiedOnWrite(list.length);
+            }
+        }
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException(String.format("From index %d is greater than to index %d",
+                    fromIndex, toIndex));
+        }
+        if (toIndex > size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", toIndex, size));
+        }
+    }
+
     /**
      * Returns the size of the list.
      *
@@ -173,20 +566,169 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
 
     /**
      * Checks if the given element is in the list.
+     * If the lookup index is enabled, the check takes constant time. Otherwise, if the list is known to be sorted,
+     * the element is found with binary search, and only then the elements are scanned one by one.
      *
      * @param element element to be found in the list
      * @return {@code true} if the list contains given element
+     * @see #enableLookupIndex()
      */
     public boolean contains(E element) {
-        if (size == 0) {
-            return false;
+        if (lookupIndexEnabled) {
+            return lookupIndex().containsKey(element);
+        }
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given element.
+     * If the list is known to be sorted, the element is found with binary search.
+     *
+     * @param element element to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(E element) {
+        if (lookupIndexEnabled && !lookupIndex().containsKey(element)) {
+            return -1;
+        }
+        if (sorted && element != null) {
+            for (int i = lowerBound(element); i < size && compare((E) list[i], element) == 0; i++) {
+                if (element.equals(list[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(element, list[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last element that is equal to given element.
+     * If the list is known to be sorted, the element is found with binary search.
+     *
+     * @param element element to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int lastIndexOf(E element) {
+        if (lookupIndexEnabled && !lookupIndex().containsKey(element)) {
+            return -1;
+        }
+        if (sorted && element != null) {
+            for (int i = upperBound(element) - 1; i >= 0 && compare((E) list[i], element) == 0; i--) {
+                if (element.equals(list[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(element, list[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the first element that is not less than the given one.
+     */
+    private int lowerBound(E element) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare((E) list[middle], element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element that is greater than the given one.
+     */
+    private int upperBound(E element) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare((E) list[middle], element) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks if the elements are known to be in natural order.
+     * The list becomes sorted after sorting in natural order and stays sorted while elements are only removed
+     * or appended in order.
+     *
+     * @return {@code true} if the list is known to be sorted
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Enables the hash index of elements. The index is built on the first membership check
+     * and kept up to date by all modifications, so {@link #contains(Comparable)} takes constant time
+     * and {@link #indexOf(Comparable)} returns immediately for missing elements.
+     * Elements should have consistent {@code hashCode} and {@code equals} methods.
+     */
+    public void enableLookupIndex() {
+        checkWritable();
+        lookupIndexEnabled = true;
+    }
+
+    /**
+     * Disables the hash index of elements and releases its memory.
+     */
+    public void disableLookupIndex() {
+        lookupIndexEnabled = false;
+        lookupIndex = null;
+    }
+
+    private Map<Object, int[]> lookupIndex() {
+        if (lookupIndex == null) {
+            lookupIndex = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+            for (int i = 0; i < size; i++) {
+                lookupIndex.computeIfAbsent(list[i], key -> new int[1])[0]++;
+            }
         }
-        for (Object e : list) {
-            if ((e != null && e.equals(element)) || (e == null && element == null)) {
-                return true;
+        return lookupIndex;
+    }
+
+    private void indexAdd(Object element) {
+        if (lookupIndex != null) {
+            lookupIndex.computeIfAbsent(element, key -> new int[1])[0]++;
+        }
+    }
+
+    private void indexAddAll(Object[] elements) {
+        if (lookupIndex != null) {
+            for (Object element : elements) {
+                indexAdd(element);
+            }
+        }
+    }
+
+    private void indexRemove(Object element) {
+        if (lookupIndex != null) {
+            int[] count = lookupIndex.get(element);
+            if (--count[0] == 0) {
+                lookupIndex.remove(element);
             }
         }
-        return false;
     }
 
     @Override
@@ -195,53 +737,1253 @@ public class CustomArrayList<E extends Comparable<E>> implements Comparator<E> {
     }
 
     /**
-     * Sorts the elements in the list from lesser to greater using the "quick sort" algorithm.
+     * Sorts the elements in the list from lesser to greater using the introspective dual-pivot "quick sort" algorithm.
+     * Small ranges are sorted with insertion sort and the heap sort fallback guarantees O(n log n) time
+     * even for sorted, reverse-sorted or adversarial input. The sort is not stable.
      */
     public void sortList() {
-        sortList(this, 0, this.size() - 1);
+        beforeModification();
+        if (metricsListener == null) {
+            Sorting.introSort(list, 0, size, this);
+        } else {
+            sortWithMetrics(this, comparator -> Sorting.introSort(list, 0, size, comparator));
+        }
+        modCount++;
+        sorted = true;
     }
 
-    private void sortList(CustomArrayList<E> list, int lowIndex, int highIndex) {
-        if (lowIndex >= highIndex) {
-            return;
+    /**
+     * Sorts the elements in the list in the order defined by the given comparator.
+     * The sort is stable: equal elements keep their relative order, so the list can be sorted by several keys
+     * one after another. Existing ascending and descending runs are detected and merged with galloping,
+     * so nearly sorted input is sorted in close to linear time.
+     *
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     * @throws IllegalArgumentException if the comparator violates its contract
+     */
+    public void sortList(Comparator<? super E> comparator) {
+        beforeModification();
+        if (metricsListener == null) {
+            TimSort.sort(list, 0, size, comparator == null ? this : comparator);
+        } else {
+            sortWithMetrics(comparator == null ? this : comparator, counting -> TimSort.sort(list, 0, size, counting));
         }
+        modCount++;
+        sorted = comparator == null;
+    }
 
-        E pivot = list.get(highIndex);
-        int leftPointer = lowIndex, rightPointer = highIndex;
+    /**
+     * Reorders the list so that the element at index {@code k} is the one that would be there after sorting,
+     * all elements before it are not greater and all elements after it are not less.
+     * The element is found with introspective selection in linear time on average, without sorting the list.
+     * For example, {@code select(size() / 2)} returns the median.
+     * A read-only snapshot is not reordered: the element is selected in a copy of its elements.
+     *
+     * @param k the index of the element in the sorted order
+     * @return the k-th least element
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public E select(int k) {
+        if (k < 0 || k > size - 1) {
+            throwWrongIndexException(k);
+        }
+        if (sorted) {
+            return (E) list[k];
+        }
+        if (readOnly) {
+            Object[] elements = Arrays.copyOf(list, size);
+            Sorting.select(elements, 0, size, k, this);
+            return (E) elements[k];
+        }
+        beforeModification();
+        Sorting.select(list, 0, size, k, this);
+        modCount++;
+        return (E) list[k];
+    }
 
-        while (leftPointer < rightPointer) {
-            while (list.compare(list.get(leftPointer), pivot) <= 0 && leftPointer < rightPointer) {
-                leftPointer++;
-            }
-            while (list.compare(list.get(rightPointer), pivot) >= 0 && leftPointer < rightPointer) {
-                rightPointer--;
-            }
-            swap(list, leftPointer, rightPointer);
+    /**
+     * Moves the {@code k} least elements to the beginning of the list in ascending order.
+     * The order of the remaining elements is not defined. The elements are selected in linear time
+     * and only the first {@code k} of them are sorted, so the running time is O(n + k log k).
+     *
+     * @param k the number of least elements to be sorted
+     * @throws IllegalArgumentException  if {@code k} is less than zero
+     * @throws IndexOutOfBoundsException if {@code k} is greater than size of the list
+     */
+    public void partialSort(int k) {
+        if (k < 0) {
+            throwWrongIndexException(k);
+        }
+        if (k > size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", k, size));
+        }
+        if (sorted || k == 0) {
+            return;
         }
+        beforeModification();
+        Sorting.select(list, 0, size, k - 1, this);
+        Sorting.introSort(list, 0, k - 1, this);
+        modCount++;
+        sorted = k == size;
+    }
 
-        swap(list, leftPointer, highIndex);
+    /**
+     * Returns new list with the {@code k} first elements in the order defined by the given comparator.
+     * This list is not changed. The elements are collected in a bounded heap of {@code k} elements,
+     * so the running time is O(n log k). To get the greatest elements, pass a reversed comparator.
+     *
+     * @param k          the number of elements to be returned; if it is greater than size, all elements are returned
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     * @return new list with at most {@code k} elements in the order of the comparator
+     * @throws IllegalArgumentException if {@code k} is less than zero
+     */
+    public CustomArrayList<E> topK(int k, Comparator<? super E> comparator) {
+        if (k < 0) {
+            throwWrongIndexException(k);
+        }
+        int count = Math.min(k, size);
+        Object[] elements;
+        if (sorted && comparator == null) {
+            elements = Arrays.copyOf(list, count);
+        } else {
+            elements = Sorting.least(list, 0, size, count, comparator == null ? this : comparator);
+        }
+        CustomArrayList<E> result = new CustomArrayList<>(elements, count, false);
+        result.sorted = comparator == null;
+        return result;
+    }
 
-        sortList(list, lowIndex, leftPointer - 1);
-        sortList(list, leftPointer + 1, highIndex);
+    /**
+     * Sorts the elements in the list from lesser to greater in parallel on the common fork/join pool.
+     *
+     * @see #parallelSortList(Comparator, ForkJoinPool)
+     */
+    public void parallelSortList() {
+        parallelSortList(null, ForkJoinPool.commonPool());
     }
 
-    private void swap(CustomArrayList<E> list, int index1, int index2) {
-        E temp = list.get(index1);
-        list.set(index1, list.get(index2));
-        list.set(index2, temp);
+    /**
+     * Sorts the elements in the list in the order defined by the given comparator
+     * in parallel on the common fork/join pool.
+     *
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     * @see #parallelSortList(Comparator, ForkJoinPool)
+     */
+    public void parallelSortList(Comparator<? super E> comparator) {
+        parallelSortList(comparator, ForkJoinPool.commonPool());
     }
 
-    @Override
-    public String toString() {
-        StringBuilder result = new StringBuilder().append("[");
-        for (int i = 0; i < size; i++) {
-            result.append(list[i]);
-            if (i != size - 1) {
-                result.append(", ");
-            } else {
-                result.append("]");
-            }
-        }
+    /**
+     * Sorts the elements in the list in the order defined by the given comparator in parallel on the given pool.
+     * The backing array is split into chunks which are sorted and then merged by the tasks of the pool.
+     * Lists with less than 8192 elements are sorted sequentially.
+     * The sort is stable, the result is the same as of {@link #sortList(Comparator)}.
+     *
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     * @param pool       the pool which runs sorting tasks
+     * @throws IllegalArgumentException if the comparator violates its contract
+     */
+    public void parallelSortList(Comparator<? super E> comparator, ForkJoinPool pool) {
+        Objects.requireNonNull(pool, "Pool should not be null");
+        beforeModification();
+        if (metricsListener == null) {
+            ParallelSorting.parallelSort(list, 0, size, comparator == null ? this : comparator, pool);
+        } else {
+            sortWithMetrics(comparator == null ? this : comparator,
+                    counting -> ParallelSorting.parallelSort(list, 0, size, counting, pool));
+        }
+        modCount++;
+        sorted = comparator == null;
+    }
+
+    /**
+     * Runs the sort with a comparator that counts comparisons and reports the sort to the metrics listener.
+     */
+    private void sortWithMetrics(Comparator<? super E> comparator, Consumer<Comparator<? super E>> sort) {
+        LongAdder comparisons = new LongAdder();
+        Comparator<? super E> counting = (object1, object2) -> {
+            comparisons.increment();
+            return comparator.compare(object1, object2);
+        };
+        long start = System.nanoTime();
+        sort.accept(counting);
+        metricsListener.sorted(size, comparisons.sum(), System.nanoTime() - start);
+    }
+
+    /**
+     * Sets the listener that receives events about resizes, shifts and sorts of the list.
+     * The same listener, for example {@link ListMetrics}, may be shared by many lists.
+     * Without a listener the list only checks a field for {@code null}.
+     *
+     * @param listener the listener, or {@code null} to disable metrics
+     */
+    public void setMetricsListener(ListMetricsListener listener) {
+        this.metricsListener = listener;
+    }
+
+    /**
+     * Returns the listener that receives events about expensive operations of the list.
+     *
+     * @return the listener, or {@code null} if metrics are disabled
+     */
+    public ListMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Replaces every element of the list with the result of the given operator.
+     * The backing array is updated in place.
+     *
+     * @param operator the operator to apply to every element
+     */
+    public void replaceAll(UnaryOperator<E> operator) {
+        parallelReplaceAll(operator, ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Replaces every element of the list with the result of the given operator in parallel on the common
+     * fork/join pool.
+     *
+     * @param operator the operator to apply to every element, it must be safe to call from several threads
+     * @see #parallelReplaceAll(UnaryOperator, ForkJoinPool, int)
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator) {
+        parallelReplaceAll(operator, ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Replaces every element of the list with the result of the given operator in parallel on the given pool.
+     * The backing array is split into contiguous ranges not longer than the threshold, and every range
+     * is updated in place by one task. Lists not longer than the threshold are updated in the calling thread.
+     *
+     * @param operator  the operator to apply to every element, it must be safe to call from several threads
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is processed by one task
+     * @throws IllegalArgumentException if the threshold is not a positive number
+     */
+    public void parallelReplaceAll(UnaryOperator<E> operator, ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(operator);
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        beforeModification();
+        // the state is invalidated first: if the operator throws, some elements are already replaced
+        modCount++;
+        sorted = false;
+        lookupIndex = null;
+        int expectedModCount = modCount;
+        ParallelOperations.replaceAll(list, 0, size, operator, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Performs the given action for every element of the list in parallel on the common fork/join pool.
+     *
+     * @param action the action to be performed for every element, it must be safe to call from several threads
+     * @see #parallelForEach(Consumer, ForkJoinPool, int)
+     */
+    public void parallelForEach(Consumer<? super E> action) {
+        parallelForEach(action, ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Performs the given action for every element of the list in parallel on the given pool.
+     * The backing array is split into contiguous ranges not longer than the threshold. Elements of one range
+     * are processed in order, but ranges are processed in any order.
+     *
+     * @param action    the action to be performed for every element, it must be safe to call from several threads
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is processed by one task
+     * @throws IllegalArgumentException        if the threshold is not a positive number
+     * @throws ConcurrentModificationException if the list is structurally modified by the action
+     */
+    public void parallelForEach(Consumer<? super E> action, ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(action);
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        int expectedModCount = modCount;
+        ParallelOperations.forEach(list, 0, size, action, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Appends the elements that satisfy the given predicate to the target list, keeping their order.
+     * The predicate is tested in parallel on the common fork/join pool.
+     *
+     * @param filter predicate which returns {@code true} for elements to be appended
+     * @param target the list to append elements to
+     * @return the number of appended elements
+     * @see #filterInto(Predicate, CustomArrayList, ForkJoinPool, int)
+     */
+    public int filterInto(Predicate<? super E> filter, CustomArrayList<? super E> target) {
+        return filterInto(filter, target, ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Appends the elements that satisfy the given predicate to the target list, keeping their order.
+     * The predicate is tested in parallel on the given pool and the results are kept in a bit set,
+     * then the matching elements are copied to the target, whose capacity is increased at most once.
+     *
+     * @param filter    predicate which returns {@code true} for elements to be appended,
+     *                  it must be safe to call from several threads
+     * @param target    the list to append elements to, it may be this list
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is tested by one task
+     * @return the number of appended elements
+     * @throws IllegalArgumentException if the threshold is not a positive number
+     */
+    public int filterInto(Predicate<? super E> filter, CustomArrayList<? super E> target, ForkJoinPool pool,
+                          int threshold) {
+        Objects.requireNonNull(filter);
+        Objects.requireNonNull(target, "Target should not be null");
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        target.checkWritable();
+        Object[] elements = list;
+        int currentSize = size;
+        int expectedModCount = modCount;
+        long[] matches = ParallelOperations.match(elements, currentSize, filter, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return target.appendMatching(elements, matches);
+    }
+
+    /**
+     * Appends the elements of the source array whose indexes are set in the bit set.
+     */
+    private int appendMatching(Object[] source, long[] matches) {
+        int count = 0;
+        for (long word : matches) {
+            count += Long.bitCount(word);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        if (size + count > list.length) {
+            increaseCapacity(size + count);
+        }
+        int position = size;
+        for (int word = 0; word < matches.length; word++) {
+            for (long bits = matches[word]; bits != 0; bits &= bits - 1) {
+                Object element = source[(word << 6) + Long.numberOfTrailingZeros(bits)];
+                indexAdd(element);
+                list[position++] = element;
+            }
+        }
+        size = position;
+        modCount++;
+        sorted = false;
+        return count;
+    }
+
+    /**
+     * Reduces the elements of the list in index order with the given accumulator.
+     * Ranges of the list are reduced in parallel on the common fork/join pool.
+     *
+     * @param identity    the identity value of the accumulator
+     * @param accumulator associative function that combines two values
+     * @return the result of the reduction, or the identity if the list is empty
+     * @see #reduce(Comparable, BinaryOperator, ForkJoinPool, int)
+     */
+    public E reduce(E identity, BinaryOperator<E> accumulator) {
+        return reduce(identity, accumulator, ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Reduces the elements of the list in index order with the given accumulator.
+     * Contiguous ranges not longer than the threshold are reduced by separate tasks of the given pool
+     * and their results are combined from left to right, so the result is the same as of a sequential loop
+     * when the accumulator is associative.
+     *
+     * @param identity    the identity value of the accumulator
+     * @param accumulator associative function that combines two values, it must be safe to call from several threads
+     * @param pool        the pool which runs the tasks
+     * @param threshold   the maximum length of a range that is reduced by one task
+     * @return the result of the reduction, or the identity if the list is empty
+     * @throws IllegalArgumentException if the threshold is not a positive number
+     */
+    public E reduce(E identity, BinaryOperator<E> accumulator, ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(accumulator);
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        int expectedModCount = modCount;
+        E result = ParallelOperations.reduce(list, 0, size, identity, accumulator, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first element that satisfies the given predicate.
+     * The elements are tested in parallel on the common fork/join pool.
+     *
+     * @param predicate predicate which returns {@code true} for the element to be found
+     * @return the index of the first matching element, or -1 if there is no such element
+     * @see #parallelFind(Predicate, ForkJoinPool, int)
+     */
+    public int parallelFind(Predicate<? super E> predicate) {
+        return parallelFind(predicate, ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns the index of the first element that satisfies the given predicate.
+     * Contiguous ranges not longer than the threshold are tested by separate tasks of the given pool.
+     * A task that finds a match cancels all ranges after it, so elements far behind the first match
+     * are usually not tested.
+     *
+     * @param predicate predicate which returns {@code true} for the element to be found,
+     *                  it must be safe to call from several threads
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is tested by one task
+     * @return the index of the first matching element, or -1 if there is no such element
+     * @throws IllegalArgumentException        if the threshold is not a positive number
+     * @throws ConcurrentModificationException if the list is structurally modified during the search
+     */
+    public int parallelFind(Predicate<? super E> predicate, ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(predicate);
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        int expectedModCount = modCount;
+        int index = ParallelOperations.find(list, 0, size, predicate, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of elements that satisfy the given predicate.
+     * The elements are tested in parallel on the common fork/join pool.
+     *
+     * @param predicate predicate which returns {@code true} for elements to be counted
+     * @return the number of matching elements
+     * @see #count(Predicate, ForkJoinPool, int)
+     */
+    public int count(Predicate<? super E> predicate) {
+        return count(predicate, ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns the number of elements that satisfy the given predicate.
+     * Contiguous ranges not longer than the threshold are counted by separate tasks of the given pool.
+     *
+     * @param predicate predicate which returns {@code true} for elements to be counted,
+     *                  it must be safe to call from several threads
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is counted by one task
+     * @return the number of matching elements
+     * @throws IllegalArgumentException        if the threshold is not a positive number
+     * @throws ConcurrentModificationException if the list is structurally modified during counting
+     */
+    public int count(Predicate<? super E> predicate, ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(predicate);
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        int expectedModCount = modCount;
+        int count = ParallelOperations.count(list, 0, size, predicate, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the least element in natural order. Ranges of the list are scanned in parallel
+     * on the common fork/join pool.
+     *
+     * @return the first of the least elements
+     * @throws NoSuchElementException if the list is empty
+     * @throws NullPointerException   if the list contains {@code null} elements
+     * @see #min(ForkJoinPool, int)
+     */
+    public E min() {
+        return min(ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns the least element in natural order. If the list is known to be sorted, the first element
+     * is returned, otherwise ranges not longer than the threshold are scanned by separate tasks of the given pool.
+     *
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is scanned by one task
+     * @return the first of the least elements
+     * @throws IllegalArgumentException if the threshold is not a positive number
+     * @throws NoSuchElementException   if the list is empty
+     * @throws NullPointerException     if the list contains {@code null} elements
+     */
+    public E min(ForkJoinPool pool, int threshold) {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        if (sorted) {
+            return (E) list[0];
+        }
+        return reduce((E) list[0], (element1, element2) -> compare(element1, element2) <= 0 ? element1 : element2,
+                pool, threshold);
+    }
+
+    /**
+     * Returns the greatest element in natural order. Ranges of the list are scanned in parallel
+     * on the common fork/join pool.
+     *
+     * @return the first of the greatest elements
+     * @throws NoSuchElementException if the list is empty
+     * @throws NullPointerException   if the list contains {@code null} elements
+     * @see #max(ForkJoinPool, int)
+     */
+    public E max() {
+        return max(ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns the greatest element in natural order. If the list is known to be sorted, the last element
+     * is returned, otherwise ranges not longer than the threshold are scanned by separate tasks of the given pool.
+     *
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is scanned by one task
+     * @return the first of the greatest elements, or the last element if the list is known to be sorted
+     * @throws IllegalArgumentException if the threshold is not a positive number
+     * @throws NoSuchElementException   if the list is empty
+     * @throws NullPointerException     if the list contains {@code null} elements
+     */
+    public E max(ForkJoinPool pool, int threshold) {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+        if (sorted) {
+            return (E) list[size - 1];
+        }
+        return reduce((E) list[0], (element1, element2) -> compare(element1, element2) >= 0 ? element1 : element2,
+                pool, threshold);
+    }
+
+    /**
+     * Returns new list with the first occurrence of every element, in the order of the list.
+     * The elements are processed in parallel on the common fork/join pool.
+     *
+     * @return new list of distinct elements
+     * @see #distinct(ForkJoinPool, int)
+     */
+    public CustomArrayList<E> distinct() {
+        return distinct(ForkJoinPool.commonPool(), ParallelOperations.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Returns new list with the first occurrence of every element, in the order of the list.
+     * Elements are distinct if they are not equal by {@code equals}, also when {@code compareTo} is inconsistent
+     * with {@code equals}, so elements should have consistent {@code hashCode} and {@code equals} methods.
+     * Lists not longer than the threshold are scanned with a hash set in the calling thread. For longer lists
+     * the least index of every element is collected in a concurrent map by tasks of the given pool, then the
+     * first occurrences are marked in a bit set and copied to the new list in order.
+     * If the list is known to be sorted, the new list is sorted too.
+     *
+     * @param pool      the pool which runs the tasks
+     * @param threshold the maximum length of a range that is processed by one task
+     * @return new list of distinct elements
+     * @throws IllegalArgumentException        if the threshold is not a positive number
+     * @throws ConcurrentModificationException if the list is structurally modified during the scan
+     */
+    public CustomArrayList<E> distinct(ForkJoinPool pool, int threshold) {
+        Objects.requireNonNull(pool, "Pool should not be null");
+        ParallelOperations.checkThreshold(threshold);
+        Object[] elements = list;
+        int expectedModCount = modCount;
+        long[] firstOccurrences = ParallelOperations.distinct(elements, size, pool, threshold);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        CustomArrayList<E> distinct = new CustomArrayList<>();
+        distinct.appendMatching(elements, firstOccurrences);
+        distinct.sorted = sorted;
+        return distinct;
+    }
+
+    /**
+     * Performs the given action for every element of the list in order.
+     * The backing array is read directly, without the bounds check of {@link #get(int)}.
+     *
+     * @param action the action to be performed for every element
+     * @throws ConcurrentModificationException if the list is structurally modified by the action
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        Object[] elements = list;
+        int currentSize = size;
+        for (int i = 0; i < currentSize && modCount == expectedModCount; i++) {
+            action.accept((E) elements[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns a view of the elements whose index is between {@code fromIndex}, inclusive, and {@code toIndex},
+     * exclusive. The view reads and writes the backing array of the list, nothing is copied.
+     *
+     * @param fromIndex index of the first element of the view
+     * @param toIndex   index after the last element of the view
+     * @return view of the range
+     * @throws IllegalArgumentException  if any index is less than zero or {@code fromIndex} is greater than
+     *                                   {@code toIndex}
+     * @throws IndexOutOfBoundsException if {@code toIndex} is greater than size of the list
+     * @see View
+     */
+    public View<E> subList(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        return new View<>(fromIndex, 1, toIndex - fromIndex, null);
+    }
+
+    /**
+     * Returns a view of the elements of the list in reverse order. Nothing is copied.
+     * The method is not called {@code reversed}, because the list is also a {@link Comparator}.
+     *
+     * @return reversed view of the list
+     * @see View
+     */
+    public View<E> reversedView() {
+        return new View<>(size - 1, -1, size, null);
+    }
+
+    /**
+     * Returns a read-only view that applies the given function to the elements of the list on every access.
+     * Nothing is copied, so the function should be cheap.
+     *
+     * @param function the function to apply to every element
+     * @param <R>      the type of elements of the view
+     * @return mapped view of the list
+     * @see View
+     */
+    public <R> View<R> mapped(Function<? super E, ? extends R> function) {
+        Objects.requireNonNull(function);
+        return new View<>(0, 1, size, function);
+    }
+
+    /**
+     * Returns a new cursor over the elements of the list. Same as {@link #cursor()}.
+     *
+     * @return cursor positioned before the first element
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns a new cursor over the elements of the list.
+     * The cursor can be rewound with {@link Cursor#reset()} and reused, so loops that run many times
+     * don't allocate an iterator on every pass.
+     *
+     * @return cursor positioned before the first element
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns a spliterator over the elements of the list. It reports the {@code ORDERED}, {@code SIZED} and
+     * {@code SUBSIZED} characteristics and splits the remaining range in halves, so parallel streams get
+     * chunks of equal size. The range is bound to the size of the list on the first traversal or split.
+     *
+     * @return spliterator over the elements of the list
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    /**
+     * Returns a sequential stream of the elements of the list.
+     *
+     * @return stream of elements
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream of the elements of the list.
+     *
+     * @return parallel stream of elements
+     */
+    public Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Writes the list into the file in the binary snapshot format.
+     * The file is created or truncated. Fixed-size elements are written through a file channel.
+     *
+     * @param file  the file to write to
+     * @param codec the codec that writes elements
+     * @throws IOException          if an I/O error occurs
+     * @throws NullPointerException if the list contains {@code null} elements
+     */
+    public void writeTo(Path file, ElementCodec<? super E> codec) throws IOException {
+        SnapshotFormat.write(file, list, size, codec);
+    }
+
+    /**
+     * Writes the list into the output stream in the binary snapshot format. The stream is not closed.
+     *
+     * @param out   the stream to write to
+     * @param codec the codec that writes elements
+     * @throws IOException          if an I/O error occurs
+     * @throws NullPointerException if the list contains {@code null} elements
+     */
+    public void writeTo(OutputStream out, ElementCodec<? super E> codec) throws IOException {
+        SnapshotFormat.write(out, list, size, codec);
+    }
+
+    /**
+     * Reads the list from the file in the binary snapshot format.
+     * The backing array is allocated once with the size from the header.
+     * Fixed-size elements are read directly from the memory-mapped file.
+     *
+     * @param file  the file to read from
+     * @param codec the codec that reads elements, the same as the one that wrote them
+     * @param <E>   the type of elements in the list
+     * @return new list with elements from the file
+     * @throws IOException if an I/O error occurs, the file is not a snapshot or it was written by another codec
+     */
+    public static <E extends Comparable<E>> CustomArrayList<E> readFrom(Path file, ElementCodec<E> codec)
+            throws IOException {
+        Object[] elements = SnapshotFormat.read(file, codec);
+        return new CustomArrayList<>(elements, elements.length, false);
+    }
+
+    /**
+     * Reads the list from the input stream in the binary snapshot format. The stream is read exactly up to
+     * the end of the snapshot and is not closed, so the data after the snapshot can be read from it.
+     * The stream is not buffered by this method; pass a buffered stream to avoid small reads.
+     *
+     * @param in    the stream to read from
+     * @param codec the codec that reads elements, the same as the one that wrote them
+     * @param <E>   the type of elements in the list
+     * @return new list with elements from the stream
+     * @throws IOException if an I/O error occurs, the input is not a snapshot or it was written by another codec
+     */
+    public static <E extends Comparable<E>> CustomArrayList<E> readFrom(InputStream in, ElementCodec<E> codec)
+            throws IOException {
+        Object[] elements = SnapshotFormat.read(in, codec);
+        return new CustomArrayList<>(elements, elements.length, false);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            result.append(list[i]);
+            if (i != size - 1) {
+                result.append(", ");
+            } else {
+                result.append("]");
+            }
+        }
         return result.toString();
     }
+
+    /**
+     * Reusable iterator which reads the backing array of the list directly.
+     * <p>
+     * Besides the {@code hasNext}/{@code next} pair, the cursor can be moved with {@link #advance()} and read
+     * with {@link #element()} and {@link #index()}, like an index in a plain loop. The cursor fails fast
+     * with {@link ConcurrentModificationException} if the list is structurally modified not through the cursor.
+     */
+    public final class Cursor implements Iterator<E> {
+        /**
+         * The index of the current element, or -1 if the cursor is before the first element.
+         */
+        private int index = -1;
+
+        private int expectedModCount = modCount;
+
+        private boolean onElement;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves the cursor before the first element, so it can be used for a new pass over the list.
+         *
+         * @return this cursor
+         */
+        public Cursor reset() {
+            index = -1;
+            expectedModCount = modCount;
+            onElement = false;
+            return this;
+        }
+
+        /**
+         * Moves the cursor to the next element.
+         *
+         * @return {@code true} if the cursor is on an element, {@code false} if there are no more elements
+         * @throws ConcurrentModificationException if the list was structurally modified
+         */
+        public boolean advance() {
+            checkForComodification();
+            if (index + 1 >= size) {
+                index = size;
+                onElement = false;
+                return false;
+            }
+            index++;
+            onElement = true;
+            return true;
+        }
+
+        /**
+         * Returns the element under the cursor.
+         *
+         * @return the current element
+         * @throws NoSuchElementException if the cursor is not on an element
+         */
+        public E element() {
+            if (!onElement) {
+                throw new NoSuchElementException();
+            }
+            return (E) list[index];
+        }
+
+        /**
+         * Returns the index of the element under the cursor.
+         *
+         * @return the current index, -1 before the first element or the size of the list after the last one
+         */
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index + 1 < size;
+        }
+
+        @Override
+        public E next() {
+            if (!advance()) {
+                throw new NoSuchElementException();
+            }
+            return (E) list[index];
+        }
+
+        /**
+         * Removes the element under the cursor from the list. The cursor moves back by one element,
+         * so the next call of {@link #next()} returns the element that followed the removed one.
+         *
+         * @throws IllegalStateException           if the cursor is not on an element
+         * @throws ConcurrentModificationException if the list was structurally modified
+         */
+        @Override
+        public void remove() {
+            if (!onElement) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            CustomArrayList.this.remove(index);
+            index--;
+            onElement = false;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            while (advance()) {
+                action.accept((E) list[index]);
+            }
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * View of a range of the list, possibly in reverse order and with a function applied to the elements.
+     * <p>
+     * A view has no array of its own: the index of the view is translated to the index of the backing array
+     * of the list. The range is checked once when the view is created, the view is valid while the list
+     * is not structurally modified (elements are not added or removed and the list is not sorted),
+     * otherwise every access fails with {@link ConcurrentModificationException}.
+     * Views of views are translated directly to the backing array as well.
+     * <p>
+     * Views without a function write through to the list and can be sorted, which sorts the range
+     * of the list in place. Mapped views are read-only, but can be searched: for example,
+     * {@code list.mapped(User::getId).binarySearch(id, null)} finds a user in a list sorted by identifiers.
+     *
+     * @param <T> the type of elements of the view
+     */
+    public final class View<T> implements Iterable<T> {
+        /**
+         * The index in the backing array of the first element of the view.
+         */
+        private final int offset;
+
+        /**
+         * 1 for views in the order of the list, -1 for reversed views.
+         */
+        private final int step;
+
+        private final int length;
+
+        /**
+         * The function applied to the elements, or {@code null} if the elements are not mapped.
+         */
+        private final Function<? super E, ? extends T> mapper;
+
+        private int expectedModCount = modCount;
+
+        private View(int offset, int step, int length, Function<? super E, ? extends T> mapper) {
+            this.offset = offset;
+            this.step = step;
+            this.length = length;
+            this.mapper = mapper;
+        }
+
+        /**
+         * Returns the element at the given position in the view.
+         *
+         * @param index index of the element to be returned
+         * @return the element at the given position
+         * @throws IllegalArgumentException        if the index is less than zero
+         * @throws IndexOutOfBoundsException       if the index is greater than size of the view
+         * @throws ConcurrentModificationException if the list was structurally modified
+         */
+        public T get(int index) {
+            checkIndex(index);
+            checkForComodification();
+            return element(index);
+        }
+
+        private T element(int index) {
+            E element = (E) list[offset + step * index];
+            return mapper == null ? (T) element : mapper.apply(element);
+        }
+
+        /**
+         * Replaces the element in the given position of the view and of the list with the new element.
+         *
+         * @param index   index where the new element will be replaced
+         * @param element new element to replace
+         * @throws IllegalArgumentException        if the index is less than zero
+         * @throws IndexOutOfBoundsException       if the index is greater than size of the view
+         * @throws UnsupportedOperationException   if the view is mapped
+         * @throws ConcurrentModificationException if the list was structurally modified
+         */
+        public void set(int index, T element) {
+            if (mapper != null) {
+                throw new UnsupportedOperationException("Mapped view is read-only");
+            }
+            checkIndex(index);
+            checkForComodification();
+            CustomArrayList.this.set(offset + step * index, (E) element);
+        }
+
+        /**
+         * Returns the size of the view.
+         *
+         * @return the number of elements in the view
+         */
+        public int size() {
+            checkForComodification();
+            return length;
+        }
+
+        /**
+         * Returns the index of the first element of the view that is equal to given element.
+         *
+         * @param element element to be found in the view
+         * @return the index of the element, or -1 if the view doesn't contain it
+         */
+        public int indexOf(Object element) {
+            checkForComodification();
+            for (int i = 0; i < length; i++) {
+                if (Objects.equals(element, element(i))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Checks if the given element is in the view.
+         *
+         * @param element element to be found in the view
+         * @return {@code true} if the view contains given element
+         */
+        public boolean contains(Object element) {
+            return indexOf(element) >= 0;
+        }
+
+        /**
+         * Finds the element in the view which is sorted in the order defined by the comparator.
+         *
+         * @param key        the element to be found
+         * @param comparator the comparator that defines the order of the view, or {@code null} to use
+         *                   the natural order of comparable elements
+         * @return the index of an element equal to the key, or {@code -(insertion point) - 1} if there is none
+         */
+        public int binarySearch(T key, Comparator<? super T> comparator) {
+            checkForComodification();
+            int low = 0;
+            int high = length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                T element = element(middle);
+                int result = comparator == null
+                        ? ((Comparable<? super T>) element).compareTo(key)
+                        : comparator.compare(element, key);
+                if (result < 0) {
+                    low = middle + 1;
+                } else if (result > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Sorts the elements of the view in place in the backing array of the list. The sort is stable.
+         * Other views of the list become invalid, this view stays valid.
+         *
+         * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+         * @throws UnsupportedOperationException   if the view is mapped
+         * @throws ConcurrentModificationException if the list was structurally modified
+         */
+        public void sortList(Comparator<? super T> comparator) {
+            if (mapper != null) {
+                throw new UnsupportedOperationException("Mapped view is read-only");
+            }
+            checkForComodification();
+            beforeModification();
+            int low = step > 0 ? offset : offset - length + 1;
+            if (step < 0) {
+                reverse(list, low, low + length);
+            }
+            Comparator<? super E> order = comparator == null
+                    ? CustomArrayList.this
+                    : (Comparator<? super E>) comparator;
+            TimSort.sort(list, low, low + length, order);
+            if (step < 0) {
+                reverse(list, low, low + length);
+            }
+            modCount++;
+            expectedModCount = modCount;
+            sorted = false;
+        }
+
+        /**
+         * Returns a view of the range of this view. Nothing is copied.
+         *
+         * @param fromIndex index of the first element of the new view, inclusive
+         * @param toIndex   index after the last element of the new view, exclusive
+         * @return view of the range
+         */
+        public View<T> subList(int fromIndex, int toIndex) {
+            checkForComodification();
+            if (fromIndex < 0 || toIndex < 0) {
+                throw new IllegalArgumentException("Index should be a positive number or zero");
+            }
+            if (fromIndex > toIndex) {
+                throw new IllegalArgumentException(String.format("From index %d is greater than to index %d",
+                        fromIndex, toIndex));
+            }
+            if (toIndex > length) {
+                throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d",
+                        toIndex, length));
+            }
+            return new View<>(offset + step * fromIndex, step, toIndex - fromIndex, mapper);
+        }
+
+        /**
+         * Returns a view of the elements of this view in reverse order. Nothing is copied.
+         *
+         * @return reversed view
+         */
+        public View<T> reversedView() {
+            checkForComodification();
+            return new View<>(offset + step * (length - 1), -step, length, mapper);
+        }
+
+        /**
+         * Returns a read-only view that applies the given function to the elements of this view.
+         *
+         * @param function the function to apply to every element
+         * @param <R>      the type of elements of the new view
+         * @return mapped view
+         */
+        public <R> View<R> mapped(Function<? super T, ? extends R> function) {
+            Objects.requireNonNull(function);
+            checkForComodification();
+            Function<? super E, ? extends T> current = mapper;
+            Function<E, R> composed = current == null
+                    ? element -> function.apply((T) element)
+                    : element -> function.apply(current.apply(element));
+            return new View<>(offset, step, length, composed);
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            checkForComodification();
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < length;
+                }
+
+                @Override
+                public T next() {
+                    if (index >= length) {
+                        throw new NoSuchElementException();
+                    }
+                    checkForComodification();
+                    return element(index++);
+                }
+            };
+        }
+
+        /**
+         * Returns a new array which contains all elements of the view in the same order.
+         *
+         * @return array of elements
+         */
+        public Object[] toArray() {
+            checkForComodification();
+            Object[] elements = new Object[length];
+            for (int i = 0; i < length; i++) {
+                elements[i] = element(i);
+            }
+            return elements;
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0) {
+                throw new IllegalArgumentException("Index should be a positive number or zero");
+            }
+            if (index > length - 1) {
+                throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d",
+                        index, length));
+            }
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public String toString() {
+            checkForComodification();
+            StringBuilder result = new StringBuilder().append("[");
+            for (int i = 0; i < length; i++) {
+                if (i != 0) {
+                    result.append(", ");
+                }
+                result.append(element(i));
+            }
+            return result.append("]").toString();
+        }
+    }
+
+    private static void reverse(Object[] array, int fromIndex, int toIndex) {
+        for (int i = fromIndex, j = toIndex - 1; i < j; i++, j--) {
+            Sorting.swap(array, i, j);
+        }
+    }
+
+    /**
+     * Spliterator over a range of the backing array.
+     */
+    private final class ArraySpliterator implements Spliterator<E> {
+        private int index;
+
+        /**
+         * The index after the last element of the range, or -1 until the range is bound to the list.
+         */
+        private int fence;
+
+        private int expectedModCount;
+
+        private ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<E> trySplit() {
+            int high = fence();
+            int low = index;
+            int middle = (low + high) >>> 1;
+            if (low >= middle) {
+                return null;
+            }
+            index = middle;
+            return new ArraySpliterator(low, middle, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            int high = fence();
+            if (index >= high) {
+                return false;
+            }
+            E element = (E) list[index++];
+            action.accept(element);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            int high = fence();
+            Object[] elements = list;
+            for (int i = index; i < high; i++) {
+                action.accept((E) elements[i]);
+            }
+            index = high;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+package ru.astondevs;
+
+import java.util.ArrayDeque;
+
+/**
+ * Bounded pool of empty {@link CustomArrayList} instances that lets short-lived lists reuse their backing arrays.
+ * <p>
+ * Idle lists are kept in buckets by size class: bucket {@code k} holds lists with a capacity of at least
+ * {@code 16 << k}. {@link #acquire(int)} takes a list from the bucket of the smallest class that fits the
+ * expected size, so a list acquired for the same size is never resized. Lists with a capacity greater than
+ * the retained capacity limit and lists released into a full bucket are dropped and left to the garbage
+ * collector, so the memory held by the pool is bounded. Once the buckets are warm, a steady workload
+ * acquires and releases lists without allocating new backing arrays.
+ * <p>
+ * The pool may be shared by several threads. A list must not be used after it is released
+ * and must not be released twice.
+ *
+ * @param <E> the type of elements in the pooled lists
+ * @author Alesia Sherstneva
+ */
+public class CustomArrayListPool<E extends Comparable<E>> {
+    /**
+     * The capacity of the smallest size class.
+     */
+    private static final int MIN_CLASS_CAPACITY = 16;
+
+    private final ArrayDeque<CustomArrayList<E>>[] buckets;
+    private final int maxRetainedCapacity;
+    private final int maxListsPerBucket;
+
+    /**
+     * Constructor that creates pool which retains lists with a capacity up to 65536
+     * and at most 16 lists of every size class.
+     */
+    public CustomArrayListPool() {
+        this(1 << 16, 16);
+    }
+
+    /**
+     * Constructor that creates pool with the given limits. The retained capacity limit is rounded down
+     * to the capacity of a size class ({@code 16 << k}), but not below 16, so every list kept by the pool
+     * can be acquired again by any size up to the limit.
+     *
+     * @param maxRetainedCapacity the maximum capacity of a list kept by the pool
+     * @param maxListsPerBucket   the maximum number of idle lists of one size class
+     * @throws IllegalArgumentException if any limit is not a positive number
+     */
+    public CustomArrayListPool(int maxRetainedCapacity, int maxListsPerBucket) {
+        if (maxRetainedCapacity <= 0) {
+            throw new IllegalArgumentException("Retained capacity should be a positive number");
+        }
+        if (maxListsPerBucket <= 0) {
+            throw new IllegalArgumentException("Number of lists should be a positive number");
+        }
+        int classCount = Math.max(sizeClassOf(maxRetainedCapacity), 0) + 1;
+        this.maxRetainedCapacity = MIN_CLASS_CAPACITY << (classCount - 1);
+        this.maxListsPerBucket = maxListsPerBucket;
+        buckets = new ArrayDeque[classCount];
+        for (int i = 0; i < classCount; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Returns an empty list that can hold at least the expected number of elements without growing.
+     * An idle list of a suitable size class is reused, otherwise a new list with the capacity
+     * of the size class is created. Sizes greater than the retained capacity limit always get a new list
+     * of the expected size, which is not kept when it is released.
+     *
+     * @param expectedSize the expected number of elements
+     * @return empty list
+     * @throws IllegalArgumentException if the expected size is less than zero
+     */
+    public CustomArrayList<E> acquire(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Size should be a positive number or zero");
+        }
+        if (expectedSize > maxRetainedCapacity) {
+            return new CustomArrayList<>(expectedSize);
+        }
+        int sizeClass = expectedSize <= MIN_CLASS_CAPACITY ? 0
+                : 32 - Integer.numberOfLeadingZeros((expectedSize - 1) / MIN_CLASS_CAPACITY);
+        ArrayDeque<CustomArrayList<E>> bucket = buckets[sizeClass];
+        CustomArrayList<E> list;
+        synchronized (bucket) {
+            list = bucket.pollFirst();
+        }
+        return list != null ? list : new CustomArrayList<>(MIN_CLASS_CAPACITY << sizeClass);
+    }
+
+    /**
+     * Clears the list and returns it to the pool. The lookup index and the metrics listener of the list
+     * are removed. Read-only snapshots, lists with a capacity less than 16 or greater than the retained
+     * capacity limit and lists that don't fit into a full bucket are dropped.
+     *
+     * @param list the list to be reused, it must not be used by the caller any more
+     * @return {@code true} if the list was kept by the pool
+     */
+    public boolean release(CustomArrayList<E> list) {
+        if (list == null || list.isReadOnly() || list.capacity() > maxRetainedCapacity) {
+            return false;
+        }
+        int sizeClass = sizeClassOf(list.capacity());
+        if (sizeClass < 0) {
+            return false;
+        }
+        list.clear();
+        list.disableLookupIndex();
+        list.setMetricsListener(null);
+        ArrayDeque<CustomArrayList<E>> bucket = buckets[sizeClass];
+        synchronized (bucket) {
+            if (bucket.size() < maxListsPerBucket) {
+                bucket.addFirst(list);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the maximum capacity of a list kept by the pool, rounded down to the capacity of a size class.
+     *
+     * @return the retained capacity limit
+     */
+    public int maxRetainedCapacity() {
+        return maxRetainedCapacity;
+    }
+
+    /**
+     * Returns the number of idle lists kept by the pool.
+     *
+     * @return the number of lists that can be acquired without allocation
+     */
+    public int idleCount() {
+        int count = 0;
+        for (ArrayDeque<CustomArrayList<E>> bucket : buckets) {
+            synchronized (bucket) {
+                count += bucket.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Drops all idle lists.
+     */
+    public void clear() {
+        for (ArrayDeque<CustomArrayList<E>> bucket : buckets) {
+            synchronized (bucket) {
+                bucket.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the largest size class whose capacity is not greater than the given one,
+     * or -1 if the capacity is less than the smallest class.
+     */
+    private static int sizeClassOf(int capacity) {
+        if (capacity < MIN_CLASS_CAPACITY) {
+            return -1;
+        }
+        return 31 - Integer.numberOfLeadingZeros(capacity / MIN_CLASS_CAPACITY);
+    }
+}
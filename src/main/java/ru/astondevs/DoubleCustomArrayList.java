@@ -0,0 +1,287 @@
+package ru.astondevs;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Version of {@link CustomArrayList} specialized for {@code double} values.
+ * <p>
+ * Elements are stored in a {@code double[]} array, so they are never boxed.
+ * The list offers the same index-based API as {@code CustomArrayList}.
+ *
+ * @author Alesia Sherstneva
+ */
+public class DoubleCustomArrayList {
+    /**
+     * The maximum capacity of the backing array. Some VMs reserve header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The array of values which contains elements of the list.
+     */
+    private double[] list;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private int size;
+
+    /**
+     * The policy that decides how much the backing array grows when it is full.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Constructor that creates empty list with default capacity of 10.
+     */
+    public DoubleCustomArrayList() {
+        this(10);
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity.
+     *
+     * @param capacity the initial capacity of new list
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     */
+    public DoubleCustomArrayList(int capacity) {
+        this(capacity, GrowthPolicy.geometric());
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity and the given growth policy.
+     *
+     * @param capacity     the initial capacity of new list
+     * @param growthPolicy the policy that decides how much the list grows when it is full
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     * @throws NullPointerException     if the growth policy is null
+     */
+    public DoubleCustomArrayList(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should be a positive number or zero");
+        } else if (capacity == 0) {
+            capacity = 10;
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "Growth policy should not be null");
+        list = new double[capacity];
+    }
+
+    /**
+     * Appends new element to the end of the list.
+     *
+     * @param element new element to add
+     */
+    public void add(double element) {
+        if (size == list.length) {
+            increaseCapacity(size + 1);
+        }
+        list[size++] = element;
+    }
+
+    /**
+     * Inserts the new element at the given position in the list.
+     * The element at that position and all following elements are moving to the right by one position.
+     *
+     * @param index   index where the new element will be inserted
+     * @param element new element to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void add(int index, double element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (size == list.length) {
+            increaseCapacity(size + 1);
+        }
+        System.arraycopy(list, index, list, index + 1, size - index);
+        list[index] = element;
+        size++;
+    }
+
+    /**
+     * Appends all given elements to the end of the list.
+     * The capacity is increased at most once.
+     *
+     * @param elements elements to add
+     */
+    public void addAll(double... elements) {
+        int count = elements.length;
+        if (size + count > list.length) {
+            increaseCapacity(size + count);
+        }
+        System.arraycopy(elements, 0, list, size, count);
+        size += count;
+    }
+
+    private void increaseCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        int newCapacity = Math.min(Math.max(growthPolicy.newCapacity(list.length, minCapacity), minCapacity),
+                MAX_CAPACITY);
+        list = Arrays.copyOf(list, newCapacity);
+    }
+
+    /**
+     * Increases the capacity of the list, if necessary, so that it can hold at least the given number of elements.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > list.length) {
+            increaseCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * Trims the capacity of the list to its current size, releasing unused slots.
+     */
+    public void trimToSize() {
+        if (size < list.length) {
+            list = Arrays.copyOf(list, size);
+        }
+    }
+
+    /**
+     * Returns the capacity of the list (the length of its backing array).
+     *
+     * @return the number of elements the list can hold without growing
+     */
+    public int capacity() {
+        return list.length;
+    }
+
+    /**
+     * Replaces the element in the given position with the new element.
+     *
+     * @param index   index where the new element will be replaced
+     * @param element new element to replace
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void set(int index, double element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        list[index] = element;
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * All following elements are moving to the left by one position.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void remove(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        System.arraycopy(list, index + 1, list, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Removes from the list the first element that is equal to given value.
+     * If the list doesn't contain a given value, the method does nothing.
+     *
+     * @param element value to be removed
+     */
+    public void removeValue(double element) {
+        int index = indexOf(element);
+        if (index >= 0) {
+            remove(index);
+        }
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public double get(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        return list[index];
+    }
+
+    private void throwWrongIndexException(int wrongIndex) {
+        if (wrongIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (wrongIndex > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", wrongIndex, size));
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given value.
+     * Values are compared as by {@link Double#compare(double, double)}, so {@code NaN} can be found.
+     *
+     * @param element value to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(double element) {
+        for (int i = 0; i < size; i++) {
+            if (Double.compare(list[i], element) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the given value is in the list.
+     *
+     * @param element value to be found in the list
+     * @return {@code true} if the list contains given value
+     */
+    public boolean contains(double element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Sorts the elements in the list in the order defined by {@link Double#compare(double, double)}.
+     * Values are sorted with radix sort by the bits of their sortable representation.
+     */
+    public void sortList() {
+        PrimitiveSorting.sort(list, 0, size);
+    }
+
+    /**
+     * Returns a new array which contains all elements of the list in the same order.
+     *
+     * @return array of elements
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(list, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(list[i]);
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,141 @@
+package ru.astondevs;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Codec that writes elements of a list into a binary stream and reads them back.
+ * <p>
+ * Codecs are used by the snapshot format of {@link CustomArrayList#writeTo(java.nio.file.Path, ElementCodec)}.
+ * The name of the codec is stored in the snapshot header, so a snapshot can't be read by a different codec.
+ * Codecs of fixed-size elements also return a {@link RecordCodec}, which allows reading the payload
+ * of a snapshot directly from a memory-mapped file.
+ *
+ * @param <E> the type of elements
+ * @author Alesia Sherstneva
+ */
+public interface ElementCodec<E> {
+    /**
+     * Codec for {@code Integer} values, 4 bytes per element.
+     */
+    ElementCodec<Integer> INTEGER = new ElementCodec<>() {
+        @Override
+        public String name() {
+            return "int";
+        }
+
+        @Override
+        public void write(DataOutput out, Integer element) throws IOException {
+            out.writeInt(element);
+        }
+
+        @Override
+        public Integer read(DataInput in) throws IOException {
+            return in.readInt();
+        }
+
+        @Override
+        public RecordCodec<Integer> recordCodec() {
+            return RecordCodec.INTEGER;
+        }
+    };
+
+    /**
+     * Codec for {@code Long} values, 8 bytes per element.
+     */
+    ElementCodec<Long> LONG = new ElementCodec<>() {
+        @Override
+        public String name() {
+            return "long";
+        }
+
+        @Override
+        public void write(DataOutput out, Long element) throws IOException {
+            out.writeLong(element);
+        }
+
+        @Override
+        public Long read(DataInput in) throws IOException {
+            return in.readLong();
+        }
+
+        @Override
+        public RecordCodec<Long> recordCodec() {
+            return RecordCodec.LONG;
+        }
+    };
+
+    /**
+     * Codec for {@code String} values. Every string is written as the length of its UTF-8 bytes
+     * followed by the bytes.
+     */
+    ElementCodec<String> STRING = new ElementCodec<>() {
+        @Override
+        public String name() {
+            return "string";
+        }
+
+        @Override
+        public void write(DataOutput out, String element) throws IOException {
+            byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String read(DataInput in) throws IOException {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException(String.format("Invalid string length %d", length));
+            }
+            // the buffer grows with the bytes that were actually read, so a corrupted length
+            // fails with EOFException instead of a huge allocation
+            byte[] bytes = new byte[Math.min(length, 1 << 16)];
+            in.readFully(bytes);
+            while (bytes.length < length) {
+                int read = bytes.length;
+                bytes = Arrays.copyOf(bytes, (int) Math.min((long) read * 2, length));
+                in.readFully(bytes, read, bytes.length - read);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Returns the name of the codec which is stored in the snapshot header.
+     *
+     * @return the name of the codec
+     */
+    String name();
+
+    /**
+     * Writes the element into the output.
+     *
+     * @param out     the output to write to
+     * @param element the element to be written, not {@code null}
+     * @throws IOException if an I/O error occurs
+     */
+    void write(DataOutput out, E element) throws IOException;
+
+    /**
+     * Reads the element from the input.
+     *
+     * @param in the input to read from
+     * @return the element that was read
+     * @throws IOException if an I/O error occurs
+     */
+    E read(DataInput in) throws IOException;
+
+    /**
+     * Returns the codec of fixed-size records which writes elements in the same big-endian format,
+     * or {@code null} if elements have variable size.
+     *
+     * @return the record codec, or {@code null}
+     */
+    default RecordCodec<E> recordCodec() {
+        return null;
+    }
+}
@@ -0,0 +1,296 @@
+package ru.astondevs;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * External merge sort for data sets that don't fit into memory.
+ * <p>
+ * Input elements are collected into a {@link CustomArrayList} buffer of bounded size. A full buffer is sorted
+ * in memory and spilled to a temporary file in the binary snapshot format of {@code CustomArrayList},
+ * so every file contains one sorted run. The runs are then merged with a heap of run readers, which read
+ * the files through buffered streams: only one element of every run is in memory at a time. If there are
+ * more runs than the merge fan-in, groups of runs are first merged into longer runs.
+ * <p>
+ * The sort is stable: runs keep the input order and equal elements of different runs are taken from
+ * the earlier run first. If all elements fit into one buffer, they are sorted in memory and no files are created.
+ *
+ * @param <E> the type of elements
+ * @author Alesia Sherstneva
+ */
+public class ExternalSorter<E extends Comparable<E>> {
+    /**
+     * The maximum number of runs merged at once.
+     */
+    static final int MAX_FAN_IN = 64;
+
+    private final ElementCodec<E> codec;
+    private final int bufferSize;
+    private final Path tempDirectory;
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Constructor that creates sorter which keeps elements in natural order.
+     *
+     * @param codec         the codec that writes and reads elements of runs
+     * @param bufferSize    the maximum number of elements kept in memory while runs are created
+     * @param tempDirectory the directory for temporary files of runs
+     * @throws IllegalArgumentException if the buffer size is not a positive number
+     */
+    public ExternalSorter(ElementCodec<E> codec, int bufferSize, Path tempDirectory) {
+        this(codec, bufferSize, tempDirectory, null);
+    }
+
+    /**
+     * Constructor that creates sorter which keeps elements in the order defined by the comparator.
+     *
+     * @param codec         the codec that writes and reads elements of runs
+     * @param bufferSize    the maximum number of elements kept in memory while runs are created
+     * @param tempDirectory the directory for temporary files of runs
+     * @param comparator    the comparator that defines the order, or {@code null} to use the natural order
+     * @throws IllegalArgumentException if the buffer size is not a positive number
+     */
+    public ExternalSorter(ElementCodec<E> codec, int bufferSize, Path tempDirectory,
+                          Comparator<? super E> comparator) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Buffer size should be a positive number");
+        }
+        this.codec = Objects.requireNonNull(codec, "Codec should not be null");
+        this.tempDirectory = Objects.requireNonNull(tempDirectory, "Temporary directory should not be null");
+        this.bufferSize = bufferSize;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sorts the elements of the stream.
+     *
+     * @param input the elements to be sorted
+     * @return sorted elements
+     * @throws IOException if an I/O error occurs while runs are written
+     * @see #sort(Iterator)
+     */
+    public Stream<E> sort(Stream<? extends E> input) throws IOException {
+        return sort(input.iterator());
+    }
+
+    /**
+     * Sorts the elements returned by the iterator. The input is consumed while runs are created,
+     * the returned stream merges the runs lazily, element by element. The stream must be closed
+     * to release the run files, for example with try-with-resources.
+     * An I/O error during the merge is thrown as {@link UncheckedIOException}.
+     *
+     * @param input the elements to be sorted, {@code null} elements are not allowed
+     * @return sorted elements
+     * @throws IOException if an I/O error occurs while runs are written
+     */
+    public Stream<E> sort(Iterator<? extends E> input) throws IOException {
+        CustomArrayList<E> buffer = new CustomArrayList<>(Math.min(bufferSize, 1 << 16));
+        List<Path> runs = new ArrayList<>();
+        try {
+            while (input.hasNext()) {
+                buffer.add(Objects.requireNonNull(input.next(), "Element should not be null"));
+                if (buffer.size() == bufferSize) {
+                    runs.add(spill(buffer));
+                }
+            }
+            if (runs.isEmpty()) {
+                sortBuffer(buffer);
+                return buffer.stream();
+            }
+            if (buffer.size() > 0) {
+                runs.add(spill(buffer));
+            }
+            while (runs.size() > MAX_FAN_IN) {
+                runs = mergePass(runs);
+            }
+            RunMerger merger = new RunMerger(runs);
+            List<Path> files = runs;
+            return StreamSupport.stream(Spliterators.spliterator(merger, merger.size,
+                            Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        merger.close();
+                        deleteAll(files);
+                    });
+        } catch (IOException | RuntimeException e) {
+            deleteAll(runs);
+            throw e;
+        }
+    }
+
+    /**
+     * Sorts the buffer with the stable merge sort, also in natural order.
+     */
+    private void sortBuffer(CustomArrayList<E> buffer) {
+        buffer.sortList(comparator);
+    }
+
+    /**
+     * Sorts the buffer, writes it to a new run file and empties the buffer.
+     */
+    private Path spill(CustomArrayList<E> buffer) throws IOException {
+        sortBuffer(buffer);
+        Path run = Files.createTempFile(tempDirectory, "run-", ".snapshot");
+        try {
+            buffer.writeTo(run, codec);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        buffer.clear();
+        return run;
+    }
+
+    /**
+     * Merges groups of runs into longer runs and deletes the merged runs.
+     */
+    private List<Path> mergePass(List<Path> runs) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        try {
+            for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                Path run = Files.createTempFile(tempDirectory, "run-", ".snapshot");
+                merged.add(run);
+                try (RunMerger merger = new RunMerger(group)) {
+                    if (merger.size > Integer.MAX_VALUE) {
+                        throw new IOException("Merged run is too large");
+                    }
+                    try (DataOutputStream out = SnapshotFormat.newWriter(run, codec, (int) merger.size)) {
+                        while (merger.hasNext()) {
+                            codec.write(out, merger.next());
+                        }
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteAll(merged);
+            throw e;
+        }
+        deleteAll(runs);
+        return merged;
+    }
+
+    private static void deleteAll(List<Path> files) {
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // the file stays in the temporary directory
+            }
+        }
+    }
+
+    /**
+     * Iterator that merges sorted runs with a binary min-heap of run readers.
+     * The heap is ordered by the current element of every reader and then by the index of the run.
+     */
+    private final class RunMerger implements Iterator<E>, AutoCloseable {
+        private final List<SnapshotFormat.Reader<E>> readers = new ArrayList<>();
+        private final Object[] heads;
+        private final int[] heap;
+        private int heapSize;
+        private final long size;
+
+        RunMerger(List<Path> runs) throws IOException {
+            heads = new Object[runs.size()];
+            heap = new int[runs.size()];
+            long totalSize = 0;
+            try {
+                for (Path run : runs) {
+                    SnapshotFormat.Reader<E> reader = new SnapshotFormat.Reader<>(run, codec);
+                    readers.add(reader);
+                    totalSize += reader.size();
+                }
+                for (int run = 0; run < readers.size(); run++) {
+                    if (readers.get(run).hasNext()) {
+                        heads[run] = readers.get(run).next();
+                        heap[heapSize++] = run;
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            size = totalSize;
+            for (int i = (heapSize >>> 1) - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return heapSize > 0;
+        }
+
+        @Override
+        public E next() {
+            if (heapSize == 0) {
+                throw new NoSuchElementException();
+            }
+            int run = heap[0];
+            E element = (E) heads[run];
+            SnapshotFormat.Reader<E> reader = readers.get(run);
+            if (reader.hasNext()) {
+                try {
+                    heads[run] = reader.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                heads[run] = null;
+                heap[0] = heap[--heapSize];
+            }
+            siftDown(0);
+            return element;
+        }
+
+        private void siftDown(int node) {
+            int run = heap[node];
+            int half = heapSize >>> 1;
+            while (node < half) {
+                int child = 2 * node + 1;
+                if (child + 1 < heapSize && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], run)) {
+                    break;
+                }
+                heap[node] = heap[child];
+                node = child;
+            }
+            if (heapSize > 0) {
+                heap[node] = run;
+            }
+        }
+
+        private boolean less(int run1, int run2) {
+            E element1 = (E) heads[run1];
+            E element2 = (E) heads[run2];
+            int result = comparator == null ? element1.compareTo(element2) : comparator.compare(element1, element2);
+            return result < 0 || (result == 0 && run1 < run2);
+        }
+
+        @Override
+        public void close() {
+            for (SnapshotFormat.Reader<E> reader : readers) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    // the run file is deleted anyway
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.astondevs;
+
+/**
+ * Strategy that decides how the backing array of a list grows when it runs out of free slots.
+ * <p>
+ * The interface is functional, so a custom policy can be supplied as a lambda.
+ *
+ * @author Alesia Sherstneva
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+    /**
+     * Returns the new capacity of the backing array.
+     * If the returned value is less than {@code minCapacity}, the list uses {@code minCapacity} instead.
+     *
+     * @param currentCapacity the current length of the backing array
+     * @param minCapacity     the minimum capacity that is required right now
+     * @return the new capacity of the backing array
+     */
+    int newCapacity(int currentCapacity, int minCapacity);
+
+    /**
+     * Returns the policy that grows the backing array by half of its current length.
+     *
+     * @return geometric growth policy with factor 1.5
+     */
+    static GrowthPolicy geometric() {
+        return geometric(1.5);
+    }
+
+    /**
+     * Returns the policy that multiplies the current capacity by the given factor.
+     *
+     * @param factor the growth factor
+     * @return geometric growth policy
+     * @throws IllegalArgumentException if the factor is not greater than 1
+     */
+    static GrowthPolicy geometric(double factor) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("Growth factor should be greater than 1");
+        }
+        return (currentCapacity, minCapacity) -> {
+            long newCapacity = Math.max((long) (currentCapacity * factor), currentCapacity + 1L);
+            return (int) Math.min(newCapacity, Integer.MAX_VALUE - 8);
+        };
+    }
+
+    /**
+     * Returns the policy that adds the fixed number of slots on every growth.
+     *
+     * @param step the number of slots to add
+     * @return fixed-step growth policy
+     * @throws IllegalArgumentException if the step is not a positive number
+     */
+    static GrowthPolicy fixed(int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Growth step should be a positive number");
+        }
+        return (currentCapacity, minCapacity) -> (int) Math.min((long) currentCapacity + step, Integer.MAX_VALUE - 8);
+    }
+}
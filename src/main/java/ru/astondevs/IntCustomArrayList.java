@@ -0,0 +1,336 @@
+package ru.astondevs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Version of {@link CustomArrayList} specialized for {@code int} values.
+ * <p>
+ * Elements are stored in an {@code int[]} array, so they are never boxed.
+ * The list offers the same index-based API as {@code CustomArrayList}.
+ *
+ * @author Alesia Sherstneva
+ */
+public class IntCustomArrayList {
+    /**
+     * The maximum capacity of the backing array. Some VMs reserve header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The array of values which contains elements of the list.
+     */
+    private int[] list;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private int size;
+
+    /**
+     * The policy that decides how much the backing array grows when it is full.
+     */
+    private final GrowthPolicy growthPolicy;
+
+    /**
+     * Constructor that creates empty list with default capacity of 10.
+     */
+    public IntCustomArrayList() {
+        this(10);
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity.
+     *
+     * @param capacity the initial capacity of new list
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     */
+    public IntCustomArrayList(int capacity) {
+        this(capacity, GrowthPolicy.geometric());
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity and the given growth policy.
+     *
+     * @param capacity     the initial capacity of new list
+     * @param growthPolicy the policy that decides how much the list grows when it is full
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     * @throws NullPointerException     if the growth policy is null
+     */
+    public IntCustomArrayList(int capacity, GrowthPolicy growthPolicy) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should be a positive number or zero");
+        } else if (capacity == 0) {
+            capacity = 10;
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy, "Growth policy should not be null");
+        list = new int[capacity];
+    }
+
+    /**
+     * Constructor that creates list which uses the given array as its backing array.
+     */
+    private IntCustomArrayList(int[] elements) {
+        this.growthPolicy = GrowthPolicy.geometric();
+        this.list = elements.length == 0 ? new int[10] : elements;
+        this.size = elements.length;
+    }
+
+    /**
+     * Appends new element to the end of the list.
+     *
+     * @param element new element to add
+     */
+    public void add(int element) {
+        if (size == list.length) {
+            increaseCapacity(size + 1);
+        }
+        list[size++] = element;
+    }
+
+    /**
+     * Inserts the new element at the given position in the list.
+     * The element at that position and all following elements are moving to the right by one position.
+     *
+     * @param index   index where the new element will be inserted
+     * @param element new element to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void add(int index, int element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (size == list.length) {
+            increaseCapacity(size + 1);
+        }
+        System.arraycopy(list, index, list, index + 1, size - index);
+        list[index] = element;
+        size++;
+    }
+
+    /**
+     * Appends all given elements to the end of the list.
+     * The capacity is increased at most once.
+     *
+     * @param elements elements to add
+     */
+    public void addAll(int... elements) {
+        int count = elements.length;
+        if (size + count > list.length) {
+            increaseCapacity(size + count);
+        }
+        System.arraycopy(elements, 0, list, size, count);
+        size += count;
+    }
+
+    private void increaseCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        int newCapacity = Math.min(Math.max(growthPolicy.newCapacity(list.length, minCapacity), minCapacity),
+                MAX_CAPACITY);
+        list = Arrays.copyOf(list, newCapacity);
+    }
+
+    /**
+     * Increases the capacity of the list, if necessary, so that it can hold at least the given number of elements.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > list.length) {
+            increaseCapacity(minCapacity);
+        }
+    }
+
+    /**
+     * Trims the capacity of the list to its current size, releasing unused slots.
+     */
+    public void trimToSize() {
+        if (size < list.length) {
+            list = Arrays.copyOf(list, size);
+        }
+    }
+
+    /**
+     * Returns the capacity of the list (the length of its backing array).
+     *
+     * @return the number of elements the list can hold without growing
+     */
+    public int capacity() {
+        return list.length;
+    }
+
+    /**
+     * Replaces the element in the given position with the new element.
+     *
+     * @param index   index where the new element will be replaced
+     * @param element new element to replace
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void set(int index, int element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        list[index] = element;
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * All following elements are moving to the left by one position.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void remove(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        System.arraycopy(list, index + 1, list, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Removes from the list the first element that is equal to given value.
+     * If the list doesn't contain a given value, the method does nothing.
+     *
+     * @param element value to be removed
+     */
+    public void removeValue(int element) {
+        int index = indexOf(element);
+        if (index >= 0) {
+            remove(index);
+        }
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public int get(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        return list[index];
+    }
+
+    private void throwWrongIndexException(int wrongIndex) {
+        if (wrongIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (wrongIndex > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", wrongIndex, size));
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given value.
+     *
+     * @param element value to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(int element) {
+        for (int i = 0; i < size; i++) {
+            if (list[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the given value is in the list.
+     *
+     * @param element value to be found in the list
+     * @return {@code true} if the list contains given value
+     */
+    public boolean contains(int element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Sorts the elements in the list in ascending order.
+     * Values from a narrow range are sorted with counting sort, other values are sorted with radix sort.
+     */
+    public void sortList() {
+        PrimitiveSorting.sort(list, 0, size);
+    }
+
+    /**
+     * Returns a new array which contains all elements of the list in the same order.
+     *
+     * @return array of elements
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(list, size);
+    }
+
+    /**
+     * Returns a compressed read-only copy of the list. Sorted values are stored as variable-byte encoded
+     * differences, which usually takes one or two bytes per value.
+     *
+     * @return compressed copy of the list
+     * @throws IllegalStateException if the list is not sorted in ascending order
+     * @see CompressedIntList
+     */
+    public CompressedIntList compact() {
+        try {
+            return CompressedIntList.of(list, size);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("List should be sorted in ascending order", e);
+        }
+    }
+
+    /**
+     * Writes the list into the file in the binary snapshot format of {@link CustomArrayList}.
+     * The snapshot can also be read by {@code CustomArrayList.readFrom} with {@link ElementCodec#INTEGER}.
+     *
+     * @param file the file to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(Path file) throws IOException {
+        SnapshotFormat.write(file, list, size);
+    }
+
+    /**
+     * Reads the list from the file in the binary snapshot format of {@link CustomArrayList}.
+     * The payload is copied from the memory-mapped file into the backing array with one bulk operation.
+     *
+     * @param file the file to read from
+     * @return new list with elements from the file
+     * @throws IOException if an I/O error occurs or the file is not a snapshot of {@code int} values
+     */
+    public static IntCustomArrayList readFrom(Path file) throws IOException {
+        return new IntCustomArrayList(SnapshotFormat.readInts(file));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(list[i]);
+        }
+        return result.append("]").toString();
+    }
+}
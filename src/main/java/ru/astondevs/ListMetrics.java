@@ -0,0 +1,306 @@
+package ru.astondevs;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Listener that collects counters and latency histograms of one or more lists.
+ * <p>
+ * Counters are striped, so lists used by several threads may share one instance. Latencies of resizes,
+ * shifts of elements by insertions and removals, and sorts are kept in histograms with buckets of powers
+ * of two nanoseconds: bucket {@code k} counts operations that took
+ * less than {@code 2^k} and at least {@code 2^(k - 1)} nanoseconds. The metrics can be read directly
+ * or exported as a JMX MBean with {@link #register(String)}.
+ *
+ * @author Alesia Sherstneva
+ */
+public class ListMetrics implements ListMetricsListener, ListMetricsMBean {
+    /**
+     * The size of a reference in an array of objects, used to estimate copied bytes.
+     */
+    private static final int REFERENCE_SIZE;
+
+    static {
+        int referenceSize = 4;
+        try {
+            referenceSize = Class.forName("sun.misc.Unsafe").getField("ARRAY_OBJECT_INDEX_SCALE").getInt(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // compressed references are the default for heaps smaller than 32 GB
+        }
+        REFERENCE_SIZE = referenceSize;
+    }
+
+    private final LongAdder resizeCount = new LongAdder();
+    private final LongAdder copiedElements = new LongAdder();
+    private final LongAdder shiftCount = new LongAdder();
+    private final LongAdder shiftedElements = new LongAdder();
+    private final LongAccumulator maxShiftDistance = new LongAccumulator(Math::max, 0);
+    private final LongAdder sortCount = new LongAdder();
+    private final LongAdder comparisonCount = new LongAdder();
+    private final LongAdder sortedElements = new LongAdder();
+    private final LatencyHistogram resizeLatency = new LatencyHistogram();
+    private final LatencyHistogram shiftLatency = new LatencyHistogram();
+    private final LatencyHistogram sortLatency = new LatencyHistogram();
+
+    @Override
+    public void resized(int oldCapacity, int newCapacity, int copied, long nanos) {
+        resizeCount.increment();
+        copiedElements.add(copied);
+        resizeLatency.record(nanos);
+    }
+
+    @Override
+    public void copiedOnWrite(int copied) {
+        copiedElements.add(copied);
+    }
+
+    @Override
+    public void shifted(int distance, long nanos) {
+        shiftCount.increment();
+        shiftedElements.add(distance);
+        maxShiftDistance.accumulate(distance);
+        shiftLatency.record(nanos);
+    }
+
+    @Override
+    public void sorted(int size, long comparisons, long nanos) {
+        sortCount.increment();
+        comparisonCount.add(comparisons);
+        sortedElements.add(size);
+        sortLatency.record(nanos);
+    }
+
+    /**
+     * Returns the number of times the backing array grew.
+     *
+     * @return the number of resizes
+     */
+    @Override
+    public long getResizeCount() {
+        return resizeCount.sum();
+    }
+
+    /**
+     * Returns the number of element slots copied by resizes and copy-on-write copies.
+     *
+     * @return the number of copied slots
+     */
+    @Override
+    public long getCopiedElements() {
+        return copiedElements.sum();
+    }
+
+    /**
+     * Returns the estimated number of bytes copied by resizes and copy-on-write copies.
+     *
+     * @return copied slots multiplied by the size of a reference
+     */
+    @Override
+    public long getCopiedBytes() {
+        return copiedElements.sum() * REFERENCE_SIZE;
+    }
+
+    /**
+     * Returns the number of insertions and removals that moved elements.
+     *
+     * @return the number of shifts
+     */
+    @Override
+    public long getShiftCount() {
+        return shiftCount.sum();
+    }
+
+    /**
+     * Returns the total number of elements moved by insertions and removals.
+     *
+     * @return the number of shifted elements
+     */
+    @Override
+    public long getShiftedElements() {
+        return shiftedElements.sum();
+    }
+
+    /**
+     * Returns the largest number of elements moved by one insertion or removal.
+     *
+     * @return the maximum shift distance
+     */
+    @Override
+    public long getMaxShiftDistance() {
+        return maxShiftDistance.get();
+    }
+
+    /**
+     * Returns the number of sorts.
+     *
+     * @return the number of sorts
+     */
+    @Override
+    public long getSortCount() {
+        return sortCount.sum();
+    }
+
+    /**
+     * Returns the total number of comparisons made by sorts.
+     *
+     * @return the number of comparisons
+     */
+    @Override
+    public long getComparisonCount() {
+        return comparisonCount.sum();
+    }
+
+    /**
+     * Returns the total number of elements sorted by all sorts.
+     *
+     * @return the number of sorted elements
+     */
+    @Override
+    public long getSortedElements() {
+        return sortedElements.sum();
+    }
+
+    /**
+     * Returns the counts of resizes in latency buckets of powers of two nanoseconds.
+     *
+     * @return 64 bucket counts
+     */
+    @Override
+    public long[] getResizeLatencyHistogram() {
+        return resizeLatency.snapshot();
+    }
+
+    /**
+     * Returns the counts of shifts in latency buckets of powers of two nanoseconds.
+     *
+     * @return 64 bucket counts
+     */
+    @Override
+    public long[] getShiftLatencyHistogram() {
+        return shiftLatency.snapshot();
+    }
+
+    /**
+     * Returns the upper bound of the latency bucket that contains the 99th percentile of shifts.
+     *
+     * @return the 99th percentile of shift latency in nanoseconds, rounded up to a power of two
+     */
+    @Override
+    public long getShiftLatency99thPercentileNanos() {
+        return shiftLatency.percentile(0.99);
+    }
+
+    /**
+     * Returns the counts of sorts in latency buckets of powers of two nanoseconds.
+     *
+     * @return 64 bucket counts
+     */
+    @Override
+    public long[] getSortLatencyHistogram() {
+        return sortLatency.snapshot();
+    }
+
+    /**
+     * Returns the upper bound of the latency bucket that contains the median sort.
+     *
+     * @return the median sort latency in nanoseconds, rounded up to a power of two
+     */
+    @Override
+    public long getSortLatencyMedianNanos() {
+        return sortLatency.percentile(0.5);
+    }
+
+    /**
+     * Returns the upper bound of the latency bucket that contains the 99th percentile of sorts.
+     *
+     * @return the 99th percentile of sort latency in nanoseconds, rounded up to a power of two
+     */
+    @Override
+    public long getSortLatency99thPercentileNanos() {
+        return sortLatency.percentile(0.99);
+    }
+
+    /**
+     * Sets all counters and histograms to zero.
+     */
+    @Override
+    public void reset() {
+        resizeCount.reset();
+        copiedElements.reset();
+        shiftCount.reset();
+        shiftedElements.reset();
+        maxShiftDistance.reset();
+        sortCount.reset();
+        comparisonCount.reset();
+        sortedElements.reset();
+        resizeLatency.reset();
+        shiftLatency.reset();
+        sortLatency.reset();
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server under the name
+     * {@code ru.astondevs:type=ListMetrics,name=<name>}.
+     *
+     * @param name the name that identifies the lists
+     * @return the name of the registered MBean
+     * @throws JMException if the name is invalid or already registered
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("ru.astondevs:type=ListMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Histogram of latencies with 64 buckets of powers of two nanoseconds.
+     */
+    private static final class LatencyHistogram {
+        private final AtomicLongArray buckets = new AtomicLongArray(64);
+
+        void record(long nanos) {
+            buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(Math.max(nanos, 0)), 63));
+        }
+
+        long[] snapshot() {
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return counts;
+        }
+
+        /**
+         * Returns the upper bound of the bucket that contains the given fraction of operations.
+         */
+        long percentile(double fraction) {
+            long[] counts = snapshot();
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i == 63 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        void reset() {
+            for (int i = 0; i < buckets.length(); i++) {
+                buckets.set(i, 0);
+            }
+        }
+    }
+}
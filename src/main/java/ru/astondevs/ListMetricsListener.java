@@ -0,0 +1,51 @@
+package ru.astondevs;
+
+/**
+ * Receives events about expensive operations of a {@link CustomArrayList}.
+ * <p>
+ * The list calls the listener only if it is set, so a list without a listener pays one null check
+ * per operation. All methods do nothing by default, so a listener can handle only the events it needs.
+ * Methods may be called from several threads if the lists that share the listener are used by several threads.
+ *
+ * @author Alesia Sherstneva
+ * @see ListMetrics
+ */
+public interface ListMetricsListener {
+    /**
+     * Called after the backing array was replaced by a larger one.
+     *
+     * @param oldCapacity the length of the old array
+     * @param newCapacity the length of the new array
+     * @param copied      the number of element slots copied to the new array
+     * @param nanos       the time of the operation in nanoseconds
+     */
+    default void resized(int oldCapacity, int newCapacity, int copied, long nanos) {
+    }
+
+    /**
+     * Called after the backing array shared with snapshots was copied before the first change.
+     *
+     * @param copied the number of element slots copied to the new array
+     */
+    default void copiedOnWrite(int copied) {
+    }
+
+    /**
+     * Called after an insertion or removal in the middle of the list moved elements of the backing array.
+     *
+     * @param distance the number of moved elements
+     * @param nanos    the time of the move in nanoseconds
+     */
+    default void shifted(int distance, long nanos) {
+    }
+
+    /**
+     * Called after the list was sorted.
+     *
+     * @param size        the number of sorted elements
+     * @param comparisons the number of comparisons made by the sort
+     * @param nanos       the time of the sort in nanoseconds
+     */
+    default void sorted(int size, long comparisons, long nanos) {
+    }
+}
@@ -0,0 +1,119 @@
+package ru.astondevs;
+
+/**
+ * Management interface of {@link ListMetrics}, exported through JMX.
+ * The names of the methods are the names of the attributes and operations seen by JMX clients.
+ *
+ * @author Alesia Sherstneva
+ */
+public interface ListMetricsMBean {
+    /**
+     * Returns the number of times the backing array grew.
+     *
+     * @return the number of resizes
+     */
+    long getResizeCount();
+
+    /**
+     * Returns the number of element slots copied by resizes and copy-on-write copies.
+     *
+     * @return the number of copied slots
+     */
+    long getCopiedElements();
+
+    /**
+     * Returns the estimated number of bytes copied by resizes and copy-on-write copies.
+     *
+     * @return copied slots multiplied by the size of a reference
+     */
+    long getCopiedBytes();
+
+    /**
+     * Returns the number of insertions and removals that moved elements.
+     *
+     * @return the number of shifts
+     */
+    long getShiftCount();
+
+    /**
+     * Returns the total number of elements moved by insertions and removals.
+     *
+     * @return the number of shifted elements
+     */
+    long getShiftedElements();
+
+    /**
+     * Returns the largest number of elements moved by one insertion or removal.
+     *
+     * @return the maximum shift distance
+     */
+    long getMaxShiftDistance();
+
+    /**
+     * Returns the number of sorts.
+     *
+     * @return the number of sorts
+     */
+    long getSortCount();
+
+    /**
+     * Returns the total number of comparisons made by sorts.
+     *
+     * @return the number of comparisons
+     */
+    long getComparisonCount();
+
+    /**
+     * Returns the total number of elements sorted by all sorts.
+     *
+     * @return the number of sorted elements
+     */
+    long getSortedElements();
+
+    /**
+     * Returns the counts of resizes in latency buckets of powers of two nanoseconds.
+     *
+     * @return 64 bucket counts
+     */
+    long[] getResizeLatencyHistogram();
+
+    /**
+     * Returns the counts of shifts in latency buckets of powers of two nanoseconds.
+     *
+     * @return 64 bucket counts
+     */
+    long[] getShiftLatencyHistogram();
+
+    /**
+     * Returns the upper bound of the latency bucket that contains the 99th percentile of shifts.
+     *
+     * @return the 99th percentile of shift latency in nanoseconds, rounded up to a power of two
+     */
+    long getShiftLatency99thPercentileNanos();
+
+    /**
+     * Returns the counts of sorts in latency buckets of powers of two nanoseconds.
+     *
+     * @return 64 bucket counts
+     */
+    long[] getSortLatencyHistogram();
+
+    /**
+     * Returns the upper bound of the latency bucket that contains the median sort.
+     *
+     * @return the median sort latency in nanoseconds, rounded up to a power of two
+     */
+    long getSortLatencyMedianNanos();
+
+    /**
+     * Returns the upper bound of the latency bucket that contains the 99th percentile of sorts.
+     *
+     * @return the 99th percentile of sort latency in nanoseconds, rounded up to a power of two
+     */
+    long getSortLatency99thPercentileNanos();
+
+    /**
+     * Sets all counters and histograms to zero.
+     */
+    void reset();
+}
@@ -0,0 +1,565 @@
+package ru.astondevs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Version of {@link CustomArrayList} that keeps its elements outside of the Java heap.
+ * <p>
+ * Elements are written as fixed-size records by a {@link RecordCodec} into chunks of direct
+ * {@link ByteBuffer}s or into chunks of a memory-mapped file. When the list is full, a new chunk is added,
+ * so existing elements are never copied on growth. The memory is released by {@link #close()};
+ * the list can't be used after that.
+ * <p>
+ * A memory-mapped file starts with a header that contains the record size, the chunk capacity and the size
+ * of the list, so the list can be reopened with {@link #open(Path, RecordCodec)}. Records are stored
+ * in the native byte order, so the file can be reopened only on a platform with the same byte order.
+ * <p>
+ * Lists of {@code int}, {@code long} and {@code double} records can be read and written without boxing
+ * with {@link #getInt(int)}, {@link #getLong(int)}, {@link #getDouble(int)} and the matching setters.
+ * <p>
+ * The list is not thread-safe.
+ *
+ * @param <E> the type of elements in this list
+ * @author Alesia Sherstneva
+ */
+public class OffHeapCustomArrayList<E> implements AutoCloseable {
+    /**
+     * The default number of records in one chunk.
+     */
+    private static final int DEFAULT_CHUNK_CAPACITY = 1 << 16;
+
+    /**
+     * The size of the buffer used to move records inside the list.
+     */
+    private static final int MOVE_BUFFER_SIZE = 1 << 13;
+
+    /**
+     * The first bytes of a mapped file, "OHCL".
+     */
+    private static final int MAGIC = 0x4F48434C;
+
+    /**
+     * The size of the header of a mapped file: magic, record size, chunk capacity and size of the list.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    private final RecordCodec<E> codec;
+    private final int recordSize;
+    private final int chunkShift;
+    private final int chunkMask;
+
+    /**
+     * The channel of the mapped file, or {@code null} if the chunks are direct buffers.
+     */
+    private final FileChannel channel;
+
+    /**
+     * The mapped header of the file, or {@code null} if the chunks are direct buffers.
+     */
+    private final ByteBuffer header;
+
+    /**
+     * The chunks which contain records of the list. All chunks have the same capacity.
+     */
+    private ByteBuffer[] chunks = new ByteBuffer[8];
+    private int chunkCount;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private int size;
+
+    private byte[] moveBuffer;
+    private boolean closed;
+
+    /**
+     * Constructor that creates empty list backed by direct buffers with the default chunk capacity.
+     *
+     * @param codec the codec that writes and reads elements
+     */
+    public OffHeapCustomArrayList(RecordCodec<E> codec) {
+        this(codec, DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Constructor that creates empty list backed by direct buffers.
+     * The chunk capacity is rounded up to the power of two.
+     *
+     * @param codec         the codec that writes and reads elements
+     * @param chunkCapacity the number of records in one chunk
+     * @throws IllegalArgumentException if the chunk capacity is not a positive number or the chunk is too large
+     */
+    public OffHeapCustomArrayList(RecordCodec<E> codec, int chunkCapacity) {
+        this(codec, chunkCapacity, null, null);
+    }
+
+    private OffHeapCustomArrayList(RecordCodec<E> codec, int chunkCapacity, FileChannel channel,
+                                   ByteBuffer header) {
+        this.codec = Objects.requireNonNull(codec, "Codec should not be null");
+        this.recordSize = codec.recordSize();
+        if (recordSize <= 0) {
+            throw new IllegalArgumentException("Record size should be a positive number");
+        }
+        if (chunkCapacity <= 0 || chunkCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Chunk capacity should be a positive number");
+        }
+        int roundedCapacity = Integer.highestOneBit(chunkCapacity - 1) << 1;
+        if (chunkCapacity == 1) {
+            roundedCapacity = 1;
+        }
+        if ((long) roundedCapacity * recordSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Chunk should not be larger than 2 GB");
+        }
+        this.chunkShift = Integer.numberOfTrailingZeros(roundedCapacity);
+        this.chunkMask = roundedCapacity - 1;
+        this.channel = channel;
+        this.header = header;
+    }
+
+    /**
+     * Creates empty list backed by chunks of the memory-mapped file. The file is created, or truncated
+     * if it exists, so its previous contents are lost. Use {@link #open(Path, RecordCodec)} to reopen
+     * the list stored in the file.
+     * The chunk capacity is rounded up to the power of two.
+     *
+     * @param file          the file that stores records of the list
+     * @param codec         the codec that writes and reads elements
+     * @param chunkCapacity the number of records in one chunk
+     * @param <E>           the type of elements in the list
+     * @return new list backed by the file
+     * @throws IOException              if the file can't be opened
+     * @throws IllegalArgumentException if the chunk capacity is not a positive number or the chunk is too large
+     */
+    public static <E> OffHeapCustomArrayList<E> mapped(Path file, RecordCodec<E> codec, int chunkCapacity)
+            throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            OffHeapCustomArrayList<E> list = new OffHeapCustomArrayList<>(codec, chunkCapacity, channel, header);
+            header.putInt(0, MAGIC);
+            header.putInt(4, list.recordSize);
+            header.putInt(8, list.chunkMask + 1);
+            header.putInt(12, 0);
+            return list;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the list stored in the memory-mapped file by {@link #mapped(Path, RecordCodec, int)}.
+     * The chunk capacity and the size are read from the header of the file and the existing chunks are mapped,
+     * nothing is copied.
+     *
+     * @param file  the file that stores records of the list
+     * @param codec the codec that writes and reads elements, it must have the record size stored in the file
+     * @param <E>   the type of elements in the list
+     * @return the list backed by the file
+     * @throws IOException if the file can't be opened, is not a list file or doesn't match the codec
+     */
+    public static <E> OffHeapCustomArrayList<E> open(Path file, RecordCodec<E> codec) throws IOException {
+        Objects.requireNonNull(codec, "Codec should not be null");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("File is not an off-heap list");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("File is not an off-heap list");
+            }
+            if (header.getInt(4) != codec.recordSize()) {
+                throw new IOException(String.format("Record size %d doesn't match the codec record size %d",
+                        header.getInt(4), codec.recordSize()));
+            }
+            int chunkCapacity = header.getInt(8);
+            if (chunkCapacity <= 0 || Integer.bitCount(chunkCapacity) != 1) {
+                throw new IOException("Invalid chunk capacity " + chunkCapacity);
+            }
+            OffHeapCustomArrayList<E> list;
+            try {
+                list = new OffHeapCustomArrayList<>(codec, chunkCapacity, channel, header);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid chunk capacity " + chunkCapacity, e);
+            }
+            long chunkBytes = (long) chunkCapacity * list.recordSize;
+            long storedChunks = (fileSize - HEADER_SIZE) / chunkBytes;
+            int size = header.getInt(12);
+            if (size < 0 || size > storedChunks * chunkCapacity) {
+                throw new IOException("Invalid list size " + size);
+            }
+            while (list.chunkCount < storedChunks) {
+                list.addChunk();
+            }
+            list.size = size;
+            return list;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends new element to the end of the list.
+     *
+     * @param element new element to add
+     * @throws IllegalStateException if the list is closed
+     */
+    public void add(E element) {
+        ensureOpen();
+        if (size == capacity()) {
+            addChunk();
+        }
+        write(size++, element);
+        storeSize();
+    }
+
+    /**
+     * Inserts the new element at the given position in the list.
+     * The element at that position and all following elements are moving to the right by one position.
+     *
+     * @param index   index where the new element will be inserted
+     * @param element new element to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     * @throws IllegalStateException     if the list is closed
+     */
+    public void add(int index, E element) {
+        ensureOpen();
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (size == capacity()) {
+            addChunk();
+        }
+        moveRecords(index, index + 1, size - index);
+        write(index, element);
+        size++;
+        storeSize();
+    }
+
+    /**
+     * Replaces the element in the given position with the new element.
+     *
+     * @param index   index where the new element will be replaced
+     * @param element new element to replace
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     * @throws IllegalStateException     if the list is closed
+     */
+    public void set(int index, E element) {
+        ensureOpen();
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        write(index, element);
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * All following elements are moving to the left by one position.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     * @throws IllegalStateException     if the list is closed
+     */
+    public void remove(int index) {
+        ensureOpen();
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        moveRecords(index + 1, index, size - index - 1);
+        size--;
+        storeSize();
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     * @throws IllegalStateException     if the list is closed
+     */
+    public E get(int index) {
+        ensureOpen();
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        return codec.read(chunks[index >>> chunkShift], (index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Returns the {@code int} value at the given position without boxing.
+     * The first 4 bytes of the record are read in the native byte order, which is the format
+     * of {@link RecordCodec#INTEGER}.
+     *
+     * @param index index of the element to be returned
+     * @return the value at the given position
+     * @throws IllegalArgumentException      if the index is less than zero
+     * @throws IndexOutOfBoundsException     if the index is greater than size of the list
+     * @throws UnsupportedOperationException if the record is shorter than 4 bytes
+     * @throws IllegalStateException         if the list is closed
+     */
+    public int getInt(int index) {
+        return chunks[checkRecord(index, Integer.BYTES)].getInt((index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Returns the {@code long} value at the given position without boxing.
+     * The first 8 bytes of the record are read in the native byte order, which is the format
+     * of {@link RecordCodec#LONG}.
+     *
+     * @param index index of the element to be returned
+     * @return the value at the given position
+     * @throws IllegalArgumentException      if the index is less than zero
+     * @throws IndexOutOfBoundsException     if the index is greater than size of the list
+     * @throws UnsupportedOperationException if the record is shorter than 8 bytes
+     * @throws IllegalStateException         if the list is closed
+     */
+    public long getLong(int index) {
+        return chunks[checkRecord(index, Long.BYTES)].getLong((index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Returns the {@code double} value at the given position without boxing.
+     * The first 8 bytes of the record are read in the native byte order, which is the format
+     * of {@link RecordCodec#DOUBLE}.
+     *
+     * @param index index of the element to be returned
+     * @return the value at the given position
+     * @throws IllegalArgumentException      if the index is less than zero
+     * @throws IndexOutOfBoundsException     if the index is greater than size of the list
+     * @throws UnsupportedOperationException if the record is shorter than 8 bytes
+     * @throws IllegalStateException         if the list is closed
+     */
+    public double getDouble(int index) {
+        return chunks[checkRecord(index, Double.BYTES)].getDouble((index & chunkMask) * recordSize);
+    }
+
+    /**
+     * Replaces the {@code int} value at the given position without boxing.
+     *
+     * @param index index where the value will be replaced
+     * @param value new value
+     * @see #getInt(int)
+     */
+    public void setInt(int index, int value) {
+        chunks[checkRecord(index, Integer.BYTES)].putInt((index & chunkMask) * recordSize, value);
+    }
+
+    /**
+     * Replaces the {@code long} value at the given position without boxing.
+     *
+     * @param index index where the value will be replaced
+     * @param value new value
+     * @see #getLong(int)
+     */
+    public void setLong(int index, long value) {
+        chunks[checkRecord(index, Long.BYTES)].putLong((index & chunkMask) * recordSize, value);
+    }
+
+    /**
+     * Replaces the {@code double} value at the given position without boxing.
+     *
+     * @param index index where the value will be replaced
+     * @param value new value
+     * @see #getDouble(int)
+     */
+    public void setDouble(int index, double value) {
+        chunks[checkRecord(index, Double.BYTES)].putDouble((index & chunkMask) * recordSize, value);
+    }
+
+    /**
+     * Checks the index and the record size and returns the number of the chunk that contains the record.
+     */
+    private int checkRecord(int index, int valueSize) {
+        ensureOpen();
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (recordSize < valueSize) {
+            throw new UnsupportedOperationException(String.format("Record of %d bytes can't hold %d bytes",
+                    recordSize, valueSize));
+        }
+        return index >>> chunkShift;
+    }
+
+    private void write(int index, E element) {
+        codec.write(chunks[index >>> chunkShift], (index & chunkMask) * recordSize, element);
+    }
+
+    /**
+     * Writes the size of the list to the header of the mapped file.
+     */
+    private void storeSize() {
+        if (header != null) {
+            header.putInt(12, size);
+        }
+    }
+
+    private void throwWrongIndexException(int wrongIndex) {
+        if (wrongIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (wrongIndex > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", wrongIndex, size));
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the capacity of the list (the number of records in all allocated chunks).
+     *
+     * @return the number of elements the list can hold without allocating a new chunk
+     */
+    public int capacity() {
+        return (int) Math.min((long) chunkCount << chunkShift, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks if the list is closed.
+     *
+     * @return {@code true} if the memory of the list has been released
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Releases the memory of all chunks and closes the mapped file, if any.
+     * The list can't be used after this call. Repeated calls do nothing.
+     *
+     * @throws UncheckedIOException if the mapped file can't be closed
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ByteBuffer[] released = chunks;
+        chunks = null;
+        size = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            BufferCleaner.free(released[i]);
+        }
+        if (header != null) {
+            BufferCleaner.free(header);
+        }
+        chunkCount = 0;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("List is closed");
+        }
+    }
+
+    private void addChunk() {
+        if (((long) chunkCount + 1) << chunkShift > Integer.MAX_VALUE) {
+            throw new IllegalStateException("List can't hold more elements");
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        int chunkBytes = (chunkMask + 1) * recordSize;
+        ByteBuffer chunk;
+        if (channel == null) {
+            chunk = ByteBuffer.allocateDirect(chunkBytes);
+        } else {
+            try {
+                chunk = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + (long) chunkCount * chunkBytes,
+                        chunkBytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        chunks[chunkCount++] = chunk.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Moves {@code count} records starting at {@code from} so that they start at {@code to}.
+     * Records are copied in segments which don't cross chunk boundaries; the direction of copying
+     * is chosen so that overlapping records are read before they are overwritten.
+     */
+    private void moveRecords(int from, int to, int count) {
+        if (count <= 0 || from == to) {
+            return;
+        }
+        if (moveBuffer == null) {
+            moveBuffer = new byte[Math.max(MOVE_BUFFER_SIZE, recordSize)];
+        }
+        int maxRecords = moveBuffer.length / recordSize;
+        int chunkCapacity = chunkMask + 1;
+        int moved = 0;
+        while (moved < count) {
+            int remaining = count - moved;
+            int source;
+            int destination;
+            int segment;
+            if (to > from) {
+                int sourceEnd = from + remaining;
+                int destinationEnd = to + remaining;
+                segment = Math.min(remaining, Math.min(maxRecords,
+                        Math.min(((sourceEnd - 1) & chunkMask) + 1, ((destinationEnd - 1) & chunkMask) + 1)));
+                source = sourceEnd - segment;
+                destination = destinationEnd - segment;
+            } else {
+                source = from + moved;
+                destination = to + moved;
+                segment = Math.min(remaining, Math.min(maxRecords,
+                        Math.min(chunkCapacity - (source & chunkMask), chunkCapacity - (destination & chunkMask))));
+            }
+            int bytes = segment * recordSize;
+            ByteBuffer sourceChunk = chunks[source >>> chunkShift].duplicate();
+            sourceChunk.position((source & chunkMask) * recordSize);
+            sourceChunk.get(moveBuffer, 0, bytes);
+            ByteBuffer destinationChunk = chunks[destination >>> chunkShift].duplicate();
+            destinationChunk.position((destination & chunkMask) * recordSize);
+            destinationChunk.put(moveBuffer, 0, bytes);
+            moved += segment;
+        }
+    }
+
+    @Override
+    public String toString() {
+        ensureOpen();
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(get(i));
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,395 @@
+package ru.astondevs;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bulk operations that process the backing array of a list in parallel.
+ * <p>
+ * The range is split in halves on a {@link ForkJoinPool} until the parts are not longer than the threshold,
+ * and every part is processed with a plain loop over the array. Ranges not longer than the threshold
+ * are processed in the calling thread.
+ *
+ * @author Alesia Sherstneva
+ */
+final class ParallelOperations {
+    /**
+     * The default maximum length of a range that is processed by one task.
+     */
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    private ParallelOperations() {
+    }
+
+    static void checkThreshold(int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("Threshold should be a positive number");
+        }
+    }
+
+    /**
+     * Performs the action for every element of the range. Parts of the range are processed in any order.
+     */
+    static <T> void forEach(Object[] array, int fromIndex, int toIndex, Consumer<? super T> action,
+                            ForkJoinPool pool, int threshold) {
+        ForEachTask<T> task = new ForEachTask<>(array, fromIndex, toIndex, action, threshold);
+        if (toIndex - fromIndex <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Replaces every element of the range with the result of the operator.
+     */
+    static <T> void replaceAll(Object[] array, int fromIndex, int toIndex, UnaryOperator<T> operator,
+                               ForkJoinPool pool, int threshold) {
+        ReplaceTask<T> task = new ReplaceTask<>(array, fromIndex, toIndex, operator, threshold);
+        if (toIndex - fromIndex <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Reduces the range in index order. Results of parts are combined from left to right,
+     * so the accumulator must be associative and the identity must be its identity element.
+     */
+    static <T> T reduce(Object[] array, int fromIndex, int toIndex, T identity, BinaryOperator<T> accumulator,
+                        ForkJoinPool pool, int threshold) {
+        ReduceTask<T> task = new ReduceTask<>(array, fromIndex, toIndex, identity, accumulator, threshold);
+        if (toIndex - fromIndex <= threshold) {
+            return task.compute();
+        }
+        return pool.invoke(task);
+    }
+
+    /**
+     * Tests every element of the range {@code [0, toIndex)} and returns the bit set of the matching indexes.
+     * Parts start at multiples of 64, so every word of the bit set is written by one task only.
+     */
+    static <T> long[] match(Object[] array, int toIndex, Predicate<? super T> predicate,
+                            ForkJoinPool pool, int threshold) {
+        long[] matches = new long[(toIndex + 63) >>> 6];
+        MatchTask<T> task = new MatchTask<>(array, matches, 0, toIndex, predicate, Math.max(threshold, 64));
+        if (toIndex <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the least index of the range whose element satisfies the predicate, or -1 if there is no such index.
+     * The least index found so far is shared by all tasks: ranges that start after it are skipped
+     * and running loops stop when they pass it, so the search ends soon after the first match.
+     */
+    static <T> int find(Object[] array, int fromIndex, int toIndex, Predicate<? super T> predicate,
+                        ForkJoinPool pool, int threshold) {
+        AtomicInteger found = new AtomicInteger(toIndex);
+        FindTask<T> task = new FindTask<>(array, fromIndex, toIndex, predicate, found, threshold);
+        if (toIndex - fromIndex <= threshold) {
+            task.compute();
+        } else {
+            pool.invoke(task);
+        }
+        return found.get() == toIndex ? -1 : found.get();
+    }
+
+    /**
+     * Returns the number of elements of the range that satisfy the predicate.
+     */
+    static <T> int count(Object[] array, int fromIndex, int toIndex, Predicate<? super T> predicate,
+                         ForkJoinPool pool, int threshold) {
+        CountTask<T> task = new CountTask<>(array, fromIndex, toIndex, predicate, threshold);
+        if (toIndex - fromIndex <= threshold) {
+            return task.compute();
+        }
+        return pool.invoke(task);
+    }
+
+    /**
+     * Returns the bit set of the indexes of the range {@code [0, toIndex)} that hold the first occurrence
+     * of an element, by {@code equals}. Short ranges are scanned in the calling thread with a hash set.
+     * Longer ranges are processed in two parallel passes: the first one keeps the least index of every element
+     * in a concurrent map, the second one marks the indexes that are equal to the least index of their element.
+     */
+    static long[] distinct(Object[] array, int toIndex, ForkJoinPool pool, int threshold) {
+        long[] firstOccurrences = new long[(toIndex + 63) >>> 6];
+        if (toIndex <= threshold) {
+            Set<Object> seen = new HashSet<>(Math.max(16, (int) (toIndex / 0.75f) + 1));
+            for (int i = 0; i < toIndex; i++) {
+                if (seen.add(array[i])) {
+                    firstOccurrences[i >>> 6] |= 1L << i;
+                }
+            }
+            return firstOccurrences;
+        }
+        ConcurrentHashMap<Object, Integer> firstIndexes =
+                new ConcurrentHashMap<>(Math.max(16, (int) (toIndex / 0.75f) + 1));
+        pool.invoke(new DistinctTask(array, firstIndexes, null, 0, toIndex, Math.max(threshold, 64)));
+        pool.invoke(new DistinctTask(array, firstIndexes, firstOccurrences, 0, toIndex, Math.max(threshold, 64)));
+        return firstOccurrences;
+    }
+
+    private static final class ForEachTask<T> extends RecursiveAction {
+        private final Object[] array;
+        private final int low;
+        private final int high;
+        private final Consumer<? super T> action;
+        private final int threshold;
+
+        ForEachTask(Object[] array, int low, int high, Consumer<? super T> action, int threshold) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.action = action;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= threshold) {
+                for (int i = low; i < high; i++) {
+                    action.accept((T) array[i]);
+                }
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new ForEachTask<>(array, low, middle, action, threshold),
+                    new ForEachTask<>(array, middle, high, action, threshold));
+        }
+    }
+
+    private static final class ReplaceTask<T> extends RecursiveAction {
+        private final Object[] array;
+        private final int low;
+        private final int high;
+        private final UnaryOperator<T> operator;
+        private final int threshold;
+
+        ReplaceTask(Object[] array, int low, int high, UnaryOperator<T> operator, int threshold) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.operator = operator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= threshold) {
+                for (int i = low; i < high; i++) {
+                    array[i] = operator.apply((T) array[i]);
+                }
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new ReplaceTask<>(array, low, middle, operator, threshold),
+                    new ReplaceTask<>(array, middle, high, operator, threshold));
+        }
+    }
+
+    private static final class ReduceTask<T> extends RecursiveTask<T> {
+        private final Object[] array;
+        private final int low;
+        private final int high;
+        private final T identity;
+        private final BinaryOperator<T> accumulator;
+        private final int threshold;
+
+        ReduceTask(Object[] array, int low, int high, T identity, BinaryOperator<T> accumulator, int threshold) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.identity = identity;
+            this.accumulator = accumulator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected T compute() {
+            if (high - low <= threshold) {
+                T result = identity;
+                for (int i = low; i < high; i++) {
+                    result = accumulator.apply(result, (T) array[i]);
+                }
+                return result;
+            }
+            int middle = (low + high) >>> 1;
+            ReduceTask<T> left = new ReduceTask<>(array, low, middle, identity, accumulator, threshold);
+            ReduceTask<T> right = new ReduceTask<>(array, middle, high, identity, accumulator, threshold);
+            left.fork();
+            T rightResult = right.compute();
+            return accumulator.apply(left.join(), rightResult);
+        }
+    }
+
+    private static final class MatchTask<T> extends RecursiveAction {
+        private final Object[] array;
+        private final long[] matches;
+        private final int low;
+        private final int high;
+        private final Predicate<? super T> predicate;
+        private final int threshold;
+
+        MatchTask(Object[] array, long[] matches, int low, int high, Predicate<? super T> predicate, int threshold) {
+            this.array = array;
+            this.matches = matches;
+            this.low = low;
+            this.high = high;
+            this.predicate = predicate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int middle = ((low + high) >>> 1) & ~63;
+            if (high - low <= threshold || middle <= low) {
+                for (int i = low; i < high; i++) {
+                    if (predicate.test((T) array[i])) {
+                        matches[i >>> 6] |= 1L << i;
+                    }
+                }
+                return;
+            }
+            invokeAll(new MatchTask<>(array, matches, low, middle, predicate, threshold),
+                    new MatchTask<>(array, matches, middle, high, predicate, threshold));
+        }
+    }
+
+    private static final class FindTask<T> extends RecursiveAction {
+        private final Object[] array;
+        private final int low;
+        private final int high;
+        private final Predicate<? super T> predicate;
+        private final AtomicInteger found;
+        private final int threshold;
+
+        FindTask(Object[] array, int low, int high, Predicate<? super T> predicate, AtomicInteger found,
+                 int threshold) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.predicate = predicate;
+            this.found = found;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (low >= found.get()) {
+                return;
+            }
+            if (high - low <= threshold) {
+                for (int i = low; i < high; i++) {
+                    // the shared index is read once per 64 elements
+                    if ((i & 63) == 0 && i >= found.get()) {
+                        return;
+                    }
+                    if (predicate.test((T) array[i])) {
+                        found.accumulateAndGet(i, Math::min);
+                        return;
+                    }
+                }
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new FindTask<>(array, low, middle, predicate, found, threshold),
+                    new FindTask<>(array, middle, high, predicate, found, threshold));
+        }
+    }
+
+    private static final class CountTask<T> extends RecursiveTask<Integer> {
+        private final Object[] array;
+        private final int low;
+        private final int high;
+        private final Predicate<? super T> predicate;
+        private final int threshold;
+
+        CountTask(Object[] array, int low, int high, Predicate<? super T> predicate, int threshold) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.predicate = predicate;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (high - low <= threshold) {
+                int count = 0;
+                for (int i = low; i < high; i++) {
+                    if (predicate.test((T) array[i])) {
+                        count++;
+                    }
+                }
+                return count;
+            }
+            int middle = (low + high) >>> 1;
+            CountTask<T> left = new CountTask<>(array, low, middle, predicate, threshold);
+            CountTask<T> right = new CountTask<>(array, middle, high, predicate, threshold);
+            left.fork();
+            int rightCount = right.compute();
+            return left.join() + rightCount;
+        }
+    }
+
+    /**
+     * Collects the least index of every element, or marks the first occurrences if the bit set is given.
+     * Parts start at multiples of 64, so every word of the bit set is written by one task only.
+     */
+    private static final class DistinctTask extends RecursiveAction {
+        /**
+         * The key of {@code null} elements, which can't be kept in a concurrent map.
+         */
+        private static final Object NULL_KEY = new Object();
+
+        private final Object[] array;
+        private final ConcurrentHashMap<Object, Integer> firstIndexes;
+        private final long[] firstOccurrences;
+        private final int low;
+        private final int high;
+        private final int threshold;
+
+        DistinctTask(Object[] array, ConcurrentHashMap<Object, Integer> firstIndexes, long[] firstOccurrences,
+                     int low, int high, int threshold) {
+            this.array = array;
+            this.firstIndexes = firstIndexes;
+            this.firstOccurrences = firstOccurrences;
+            this.low = low;
+            this.high = high;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int middle = ((low + high) >>> 1) & ~63;
+            if (high - low <= threshold || middle <= low) {
+                for (int i = low; i < high; i++) {
+                    Object key = array[i] == null ? NULL_KEY : array[i];
+                    if (firstOccurrences == null) {
+                        firstIndexes.merge(key, i, Math::min);
+                    } else if (firstIndexes.get(key) == i) {
+                        firstOccurrences[i >>> 6] |= 1L << i;
+                    }
+                }
+                return;
+            }
+            invokeAll(new DistinctTask(array, firstIndexes, firstOccurrences, low, middle, threshold),
+                    new DistinctTask(array, firstIndexes, firstOccurrences, middle, high, threshold));
+        }
+    }
+}
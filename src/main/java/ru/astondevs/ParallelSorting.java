@@ -0,0 +1,194 @@
+package ru.astondevs;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel stable merge sort that works on the backing array of a list.
+ * <p>
+ * The range is split into chunks that are sorted by {@link TimSort} on a {@link ForkJoinPool}.
+ * Sorted chunks are merged in parallel as well: a large merge is split by the median of the longer run
+ * and the matching position in the shorter run, found with binary search. On every level the four sorted
+ * quarters are merged pairwise into a work buffer and the two halves are merged back into the array,
+ * so every element is moved twice per level. The buffer has the length of the sorted range.
+ *
+ * @author Alesia Sherstneva
+ */
+final class ParallelSorting {
+    /**
+     * Ranges shorter than this are sorted sequentially.
+     */
+    static final int MIN_PARALLEL_SORT_SIZE = 1 << 13;
+
+    private ParallelSorting() {
+    }
+
+    /**
+     * Sorts the given range of the array on the given pool. The sort is stable.
+     *
+     * @param array      the array to be sorted
+     * @param fromIndex  index of the first element, inclusive
+     * @param toIndex    index of the last element, exclusive
+     * @param comparator the comparator that defines the order
+     * @param pool       the pool which runs sorting and merging tasks
+     * @param <T>        the type of elements in the array
+     */
+    static <T> void parallelSort(Object[] array, int fromIndex, int toIndex, Comparator<? super T> comparator,
+                                 ForkJoinPool pool) {
+        int length = toIndex - fromIndex;
+        int parallelism = pool.getParallelism();
+        if (length <= MIN_PARALLEL_SORT_SIZE || parallelism == 1) {
+            TimSort.sort(array, fromIndex, toIndex, comparator);
+            return;
+        }
+        int grain = Math.max(length / (parallelism << 2), MIN_PARALLEL_SORT_SIZE);
+        Object[] buffer = new Object[length];
+        pool.invoke(new SortTask<>(array, buffer, fromIndex, fromIndex, toIndex, comparator, grain));
+    }
+
+    /**
+     * Sorts four quarters of the range, merges them pairwise into the buffer and merges the halves back.
+     * The element at index {@code i} of the array is merged into index {@code i - offset} of the buffer.
+     */
+    private static final class SortTask<T> extends RecursiveAction {
+        private final Object[] array;
+        private final Object[] buffer;
+        private final int offset;
+        private final int low;
+        private final int high;
+        private final Comparator<? super T> comparator;
+        private final int grain;
+
+        SortTask(Object[] array, Object[] buffer, int offset, int low, int high, Comparator<? super T> comparator,
+                 int grain) {
+            this.array = array;
+            this.buffer = buffer;
+            this.offset = offset;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            int length = high - low;
+            if (length <= grain) {
+                TimSort.sort(array, low, high, comparator);
+                return;
+            }
+            int quarter = length >>> 2;
+            int middle1 = low + quarter;
+            int middle2 = middle1 + quarter;
+            int middle3 = middle2 + quarter;
+            invokeAll(new SortTask<>(array, buffer, offset, low, middle1, comparator, grain),
+                    new SortTask<>(array, buffer, offset, middle1, middle2, comparator, grain),
+                    new SortTask<>(array, buffer, offset, middle2, middle3, comparator, grain),
+                    new SortTask<>(array, buffer, offset, middle3, high, comparator, grain));
+            invokeAll(new MergeTask<>(array, low, middle1, middle1, middle2, buffer, low - offset, comparator, grain),
+                    new MergeTask<>(array, middle2, middle3, middle3, high, buffer, middle2 - offset,
+                            comparator, grain));
+            new MergeTask<>(buffer, low - offset, middle2 - offset, middle2 - offset, high - offset, array, low,
+                    comparator, grain).compute();
+        }
+    }
+
+    /**
+     * Merges two adjacent sorted runs of the source array into the destination array.
+     */
+    private static final class MergeTask<T> extends RecursiveAction {
+        private final Object[] source;
+        private final int low1;
+        private final int high1;
+        private final int low2;
+        private final int high2;
+        private final Object[] destination;
+        private final int destinationIndex;
+        private final Comparator<? super T> comparator;
+        private final int grain;
+
+        MergeTask(Object[] source, int low1, int high1, int low2, int high2,
+                  Object[] destination, int destinationIndex, Comparator<? super T> comparator, int grain) {
+            this.source = source;
+            this.low1 = low1;
+            this.high1 = high1;
+            this.low2 = low2;
+            this.high2 = high2;
+            this.destination = destination;
+            this.destinationIndex = destinationIndex;
+            this.comparator = comparator;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            int length1 = high1 - low1;
+            int length2 = high2 - low2;
+            if (length1 + length2 <= grain) {
+                merge();
+                return;
+            }
+            int split1;
+            int split2;
+            if (length1 >= length2) {
+                split1 = (low1 + high1) >>> 1;
+                split2 = lowerBound((T) source[split1], low2, high2);
+            } else {
+                split2 = (low2 + high2) >>> 1;
+                split1 = upperBound((T) source[split2], low1, high1);
+            }
+            int rightDestination = destinationIndex + (split1 - low1) + (split2 - low2);
+            invokeAll(new MergeTask<>(source, low1, split1, low2, split2,
+                            destination, destinationIndex, comparator, grain),
+                    new MergeTask<>(source, split1, high1, split2, high2,
+                            destination, rightDestination, comparator, grain));
+        }
+
+        private void merge() {
+            int cursor1 = low1;
+            int cursor2 = low2;
+            int index = destinationIndex;
+            while (cursor1 < high1 && cursor2 < high2) {
+                if (comparator.compare((T) source[cursor2], (T) source[cursor1]) < 0) {
+                    destination[index++] = source[cursor2++];
+                } else {
+                    destination[index++] = source[cursor1++];
+                }
+            }
+            System.arraycopy(source, cursor1, destination, index, high1 - cursor1);
+            index += high1 - cursor1;
+            System.arraycopy(source, cursor2, destination, index, high2 - cursor2);
+        }
+
+        /**
+         * Returns the index of the first element that is not less than the key.
+         */
+        private int lowerBound(T key, int low, int high) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare((T) source[middle], key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Returns the index of the first element that is greater than the key.
+         */
+        private int upperBound(T key, int low, int high) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (comparator.compare((T) source[middle], key) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
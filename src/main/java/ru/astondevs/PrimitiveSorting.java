@@ -0,0 +1,207 @@
+package ru.astondevs;
+
+/**
+ * Sorting algorithms for the backing arrays of primitive lists.
+ * <p>
+ * Values that fit into a small range are sorted with counting sort, other values are sorted with
+ * least significant digit radix sort by bytes. Passes over bytes that are the same for all values are skipped.
+ * Short ranges are sorted with insertion sort.
+ *
+ * @author Alesia Sherstneva
+ */
+final class PrimitiveSorting {
+    /**
+     * Ranges shorter than this are sorted with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 64;
+
+    private PrimitiveSorting() {
+    }
+
+    /**
+     * Sorts the given range of the array in ascending order.
+     *
+     * @param array     the array to be sorted
+     * @param fromIndex index of the first element, inclusive
+     * @param toIndex   index of the last element, exclusive
+     */
+    static void sort(int[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = fromIndex + 1; i < toIndex; i++) {
+                int element = array[i];
+                int j = i - 1;
+                while (j >= fromIndex && array[j] > element) {
+                    array[j + 1] = array[j];
+                    j--;
+                }
+                array[j + 1] = element;
+            }
+            return;
+        }
+
+        int min = array[fromIndex];
+        int max = min;
+        for (int i = fromIndex + 1; i < toIndex; i++) {
+            min = Math.min(min, array[i]);
+            max = Math.max(max, array[i]);
+        }
+        if ((long) max - min < length) {
+            countingSort(array, fromIndex, toIndex, min, max);
+        } else {
+            radixSort(array, fromIndex, toIndex);
+        }
+    }
+
+    private static void countingSort(int[] array, int fromIndex, int toIndex, int min, int max) {
+        int[] counts = new int[max - min + 1];
+        for (int i = fromIndex; i < toIndex; i++) {
+            counts[array[i] - min]++;
+        }
+        int index = fromIndex;
+        for (int value = 0; value < counts.length; value++) {
+            for (int count = counts[value]; count > 0; count--) {
+                array[index++] = value + min;
+            }
+        }
+    }
+
+    private static void radixSort(int[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        int[][] counts = new int[4][257];
+        for (int i = fromIndex; i < toIndex; i++) {
+            int key = array[i] ^ Integer.MIN_VALUE;
+            for (int pass = 0; pass < 4; pass++) {
+                counts[pass][((key >>> (pass << 3)) & 0xFF) + 1]++;
+            }
+        }
+
+        int[] source = new int[length];
+        System.arraycopy(array, fromIndex, source, 0, length);
+        int[] target = new int[length];
+        for (int pass = 0; pass < 4; pass++) {
+            int[] offsets = counts[pass];
+            if (skipPass(offsets, length)) {
+                continue;
+            }
+            for (int bucket = 1; bucket < offsets.length; bucket++) {
+                offsets[bucket] += offsets[bucket - 1];
+            }
+            int shift = pass << 3;
+            for (int i = 0; i < length; i++) {
+                int element = source[i];
+                target[offsets[((element ^ Integer.MIN_VALUE) >>> shift) & 0xFF]++] = element;
+            }
+            int[] temp = source;
+            source = target;
+            target = temp;
+        }
+        System.arraycopy(source, 0, array, fromIndex, length);
+    }
+
+    /**
+     * Sorts the given range of the array in ascending order.
+     *
+     * @param array     the array to be sorted
+     * @param fromIndex index of the first element, inclusive
+     * @param toIndex   index of the last element, exclusive
+     */
+    static void sort(long[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = fromIndex + 1; i < toIndex; i++) {
+                long element = array[i];
+                int j = i - 1;
+                while (j >= fromIndex && array[j] > element) {
+                    array[j + 1] = array[j];
+                    j--;
+                }
+                array[j + 1] = element;
+            }
+            return;
+        }
+        radixSort(array, fromIndex, toIndex, Long.MIN_VALUE);
+    }
+
+    /**
+     * Sorts the given range of the array in the order defined by {@link Double#compare(double, double)}.
+     * Values are mapped to keys whose unsigned order matches that order and sorted as keys.
+     *
+     * @param array     the array to be sorted
+     * @param fromIndex index of the first element, inclusive
+     * @param toIndex   index of the last element, exclusive
+     */
+    static void sort(double[] array, int fromIndex, int toIndex) {
+        int length = toIndex - fromIndex;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = fromIndex + 1; i < toIndex; i++) {
+                double element = array[i];
+                int j = i - 1;
+                while (j >= fromIndex && Double.compare(array[j], element) > 0) {
+                    array[j + 1] = array[j];
+                    j--;
+                }
+                array[j + 1] = element;
+            }
+            return;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            long bits = Double.doubleToLongBits(array[fromIndex + i]);
+            keys[i] = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        }
+        radixSort(keys, 0, length, 0L);
+        for (int i = 0; i < length; i++) {
+            long key = keys[i];
+            array[fromIndex + i] = Double.longBitsToDouble(key ^ ((~key >> 63) | Long.MIN_VALUE));
+        }
+    }
+
+    /**
+     * Sorts the range by the unsigned order of {@code value ^ flip}.
+     */
+    private static void radixSort(long[] array, int fromIndex, int toIndex, long flip) {
+        int length = toIndex - fromIndex;
+        int[][] counts = new int[8][257];
+        for (int i = fromIndex; i < toIndex; i++) {
+            long key = array[i] ^ flip;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[pass][(int) ((key >>> (pass << 3)) & 0xFF) + 1]++;
+            }
+        }
+
+        long[] source = new long[length];
+        System.arraycopy(array, fromIndex, source, 0, length);
+        long[] target = new long[length];
+        for (int pass = 0; pass < 8; pass++) {
+            int[] offsets = counts[pass];
+            if (skipPass(offsets, length)) {
+                continue;
+            }
+            for (int bucket = 1; bucket < offsets.length; bucket++) {
+                offsets[bucket] += offsets[bucket - 1];
+            }
+            int shift = pass << 3;
+            for (int i = 0; i < length; i++) {
+                long element = source[i];
+                target[offsets[(int) (((element ^ flip) >>> shift) & 0xFF)]++] = element;
+            }
+            long[] temp = source;
+            source = target;
+            target = temp;
+        }
+        System.arraycopy(source, 0, array, fromIndex, length);
+    }
+
+    /**
+     * Returns {@code true} if all values have the same byte in the pass, so the pass changes nothing.
+     */
+    private static boolean skipPass(int[] counts, int length) {
+        for (int bucket = 1; bucket < counts.length; bucket++) {
+            if (counts[bucket] != 0) {
+                return counts[bucket] == length;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.astondevs;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec that writes elements as fixed-size binary records into a {@link ByteBuffer} and reads them back.
+ * <p>
+ * Every record occupies exactly {@link #recordSize()} bytes, so the position of an element in a buffer
+ * can be computed from its index.
+ *
+ * @param <E> the type of elements
+ * @author Alesia Sherstneva
+ */
+public interface RecordCodec<E> {
+    /**
+     * Codec for {@code Integer} values, 4 bytes per record.
+     */
+    RecordCodec<Integer> INTEGER = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Integer element) {
+            buffer.putInt(offset, element);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer, int offset) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    /**
+     * Codec for {@code Long} values, 8 bytes per record.
+     */
+    RecordCodec<Long> LONG = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Long element) {
+            buffer.putLong(offset, element);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer, int offset) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    /**
+     * Codec for {@code Double} values, 8 bytes per record.
+     */
+    RecordCodec<Double> DOUBLE = new RecordCodec<>() {
+        @Override
+        public int recordSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void write(ByteBuffer buffer, int offset, Double element) {
+            buffer.putDouble(offset, element);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer, int offset) {
+            return buffer.getDouble(offset);
+        }
+    };
+
+    /**
+     * Returns the size of one record in bytes.
+     *
+     * @return the number of bytes occupied by every element
+     */
+    int recordSize();
+
+    /**
+     * Writes the element into the buffer starting at the given absolute offset.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer  the buffer to write to
+     * @param offset  the offset of the record in the buffer
+     * @param element the element to be written
+     */
+    void write(ByteBuffer buffer, int offset, E element);
+
+    /**
+     * Reads the element from the buffer starting at the given absolute offset.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer the buffer to read from
+     * @param offset the offset of the record in the buffer
+     * @return the element that was read
+     */
+    E read(ByteBuffer buffer, int offset);
+}
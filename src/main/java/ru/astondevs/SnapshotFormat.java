@@ -0,0 +1,333 @@
+package ru.astondevs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Binary snapshot format of lists.
+ * <p>
+ * A snapshot consists of the header and the payload. The header contains the magic number {@code "CALS"},
+ * the format version, the name of the element codec, the size of one element in bytes (0 for elements
+ * of variable size) and the number of elements. The payload contains the elements written by the codec.
+ * All numbers are big-endian.
+ * <p>
+ * Payloads of fixed-size elements are written through a {@link FileChannel} and read from a memory-mapped file,
+ * primitive payloads are read with bulk buffer operations.
+ *
+ * @author Alesia Sherstneva
+ */
+final class SnapshotFormat {
+    private static final int MAGIC = 0x43414C53;
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SnapshotFormat() {
+    }
+
+    /**
+     * Header of a snapshot.
+     */
+    static final class Header {
+        final String codecName;
+        final int recordSize;
+        final int size;
+
+        Header(String codecName, int recordSize, int size) {
+            this.codecName = codecName;
+            this.recordSize = recordSize;
+            this.size = size;
+        }
+    }
+
+    static <E> void write(OutputStream out, Object[] elements, int size, ElementCodec<? super E> codec)
+            throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        writeHeader(data, codec.name(), recordSize(codec), size);
+        for (int i = 0; i < size; i++) {
+            codec.write(data, (E) elements[i]);
+        }
+        data.flush();
+    }
+
+    static <E> void write(Path file, Object[] elements, int size, ElementCodec<? super E> codec) throws IOException {
+        RecordCodec<? super E> recordCodec = codec.recordCodec();
+        if (recordCodec == null) {
+            try (OutputStream out = Files.newOutputStream(file)) {
+                write(out, elements, size, codec);
+            }
+            return;
+        }
+        try (FileChannel channel = openForWriting(file)) {
+            writeHeader(channel, codec.name(), recordCodec.recordSize(), size);
+            int recordSize = recordCodec.recordSize();
+            ByteBuffer buffer = ByteBuffer.allocate(Math.max(BUFFER_SIZE / recordSize, 1) * recordSize);
+            for (int i = 0; i < size; i++) {
+                if (buffer.remaining() < recordSize) {
+                    flush(channel, buffer);
+                }
+                recordCodec.write(buffer, buffer.position(), (E) elements[i]);
+                buffer.position(buffer.position() + recordSize);
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Reads a snapshot from the stream. The stream is not buffered here, so nothing after the end of the snapshot
+     * is consumed and the caller can continue reading the stream.
+     */
+    static Object[] read(InputStream in, ElementCodec<?> codec) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        Header header = readHeader(data, codec.name());
+        // the size is not trusted: the array grows with the elements that were actually read,
+        // so a corrupted size fails with EOFException instead of a huge allocation
+        Object[] elements = new Object[Math.min(header.size, BUFFER_SIZE)];
+        for (int i = 0; i < header.size; i++) {
+            if (i == elements.length) {
+                elements = Arrays.copyOf(elements, (int) Math.min((long) elements.length * 2, header.size));
+            }
+            elements[i] = codec.read(data);
+        }
+        return elements;
+    }
+
+    static Object[] read(Path file, ElementCodec<?> codec) throws IOException {
+        RecordCodec<?> recordCodec = codec.recordCodec();
+        if (recordCodec == null) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE)) {
+                return read(in, codec);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, codec.name(), recordCodec.recordSize());
+            Object[] elements = new Object[header.size];
+            int recordSize = header.recordSize;
+            int index = 0;
+            while (index < header.size) {
+                int count = Math.min(header.size - index, Integer.MAX_VALUE / recordSize);
+                ByteBuffer payload = map(channel, (long) count * recordSize);
+                for (int i = 0; i < count; i++) {
+                    elements[index++] = recordCodec.read(payload, i * recordSize);
+                }
+                BufferCleaner.free(payload);
+            }
+            return elements;
+        }
+    }
+
+    /**
+     * Opens the file for writing and writes the header. The caller writes exactly {@code size} elements
+     * with the codec and closes the stream.
+     */
+    static DataOutputStream newWriter(Path file, ElementCodec<?> codec, int size) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),
+                BUFFER_SIZE));
+        try {
+            writeHeader(data, codec.name(), recordSize(codec), size);
+        } catch (IOException e) {
+            data.close();
+            throw e;
+        }
+        return data;
+    }
+
+    /**
+     * Reads the elements of a snapshot file one by one through a buffered stream,
+     * so the whole payload is never loaded into memory.
+     */
+    static final class Reader<E> implements Closeable {
+        private final DataInputStream in;
+        private final ElementCodec<E> codec;
+        private final int size;
+        private int position;
+
+        Reader(Path file, ElementCodec<E> codec) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE));
+            this.codec = codec;
+            try {
+                this.size = readHeader(in, codec.name()).size;
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean hasNext() {
+            return position < size;
+        }
+
+        E next() throws IOException {
+            position++;
+            return codec.read(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    static void write(Path file, int[] values, int size) throws IOException {
+        try (FileChannel channel = openForWriting(file)) {
+            writeHeader(channel, ElementCodec.INTEGER.name(), Integer.BYTES, size);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            for (int index = 0; index < size; ) {
+                int count = Math.min(size - index, BUFFER_SIZE / Integer.BYTES);
+                buffer.asIntBuffer().put(values, index, count);
+                buffer.position(count * Integer.BYTES);
+                flush(channel, buffer);
+                index += count;
+            }
+        }
+    }
+
+    static int[] readInts(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, ElementCodec.INTEGER.name(), Integer.BYTES);
+            int[] values = new int[header.size];
+            for (int index = 0; index < header.size; ) {
+                int count = Math.min(header.size - index, Integer.MAX_VALUE / Integer.BYTES);
+                ByteBuffer payload = map(channel, (long) count * Integer.BYTES);
+                payload.asIntBuffer().get(values, index, count);
+                BufferCleaner.free(payload);
+                index += count;
+            }
+            return values;
+        }
+    }
+
+    static void write(Path file, long[] values, int size) throws IOException {
+        try (FileChannel channel = openForWriting(file)) {
+            writeHeader(channel, ElementCodec.LONG.name(), Long.BYTES, size);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            for (int index = 0; index < size; ) {
+                int count = Math.min(size - index, BUFFER_SIZE / Long.BYTES);
+                buffer.asLongBuffer().put(values, index, count);
+                buffer.position(count * Long.BYTES);
+                flush(channel, buffer);
+                index += count;
+            }
+        }
+    }
+
+    static long[] readLongs(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, ElementCodec.LONG.name(), Long.BYTES);
+            long[] values = new long[header.size];
+            for (int index = 0; index < header.size; ) {
+                int count = Math.min(header.size - index, Integer.MAX_VALUE / Long.BYTES);
+                ByteBuffer payload = map(channel, (long) count * Long.BYTES);
+                payload.asLongBuffer().get(values, index, count);
+                BufferCleaner.free(payload);
+                index += count;
+            }
+            return values;
+        }
+    }
+
+    private static int recordSize(ElementCodec<?> codec) {
+        RecordCodec<?> recordCodec = codec.recordCodec();
+        return recordCodec == null ? 0 : recordCodec.recordSize();
+    }
+
+    private static FileChannel openForWriting(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    private static void writeHeader(DataOutputStream out, String codecName, int recordSize, int size)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(codecName);
+        out.writeInt(recordSize);
+        out.writeInt(size);
+    }
+
+    private static void writeHeader(FileChannel channel, String codecName, int recordSize, int size)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out, codecName, recordSize, size);
+        out.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static Header readHeader(DataInputStream in, String codecName) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Input is not a list snapshot");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException(String.format("Unsupported snapshot version %d", version));
+        }
+        String storedCodecName = in.readUTF();
+        if (!storedCodecName.equals(codecName)) {
+            throw new IOException(String.format("Snapshot was written by codec '%s', not '%s'",
+                    storedCodecName, codecName));
+        }
+        int recordSize = in.readInt();
+        int size = in.readInt();
+        if (recordSize < 0 || size < 0) {
+            throw new IOException("Snapshot header is corrupted");
+        }
+        return new Header(storedCodecName, recordSize, size);
+    }
+
+    /**
+     * Reads the header directly from the channel, so the position of the channel is exactly
+     * at the beginning of the payload.
+     */
+    private static Header readHeader(FileChannel channel, String codecName, int recordSize) throws IOException {
+        Header header = readHeader(new DataInputStream(Channels.newInputStream(channel)), codecName);
+        if (header.recordSize != recordSize) {
+            throw new IOException(String.format("Snapshot has records of %d bytes, expected %d",
+                    header.recordSize, recordSize));
+        }
+        if (channel.size() - channel.position() < (long) header.size * recordSize) {
+            throw new IOException("Snapshot payload is truncated");
+        }
+        return header;
+    }
+
+    /**
+     * Maps the next bytes of the channel and moves its position after them.
+     */
+    private static ByteBuffer map(FileChannel channel, long length) throws IOException {
+        long position = channel.position();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        channel.position(position + length);
+        return buffer.order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
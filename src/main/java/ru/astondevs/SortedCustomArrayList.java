@@ -0,0 +1,362 @@
+package ru.astondevs;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Version of {@link CustomArrayList} that always keeps its elements sorted.
+ * <p>
+ * A new element is put to its position found with binary search, and the following elements are moved
+ * with one block copy, so the list never has to be sorted again. Equal elements keep the order in which
+ * they were added. Bulk inserts sort the batch and merge it into the backing array from the end
+ * in linear time. Lookups and range queries use binary search and take O(log n) time.
+ * {@code null} elements are not allowed.
+ *
+ * @param <E> the type of elements in this list
+ * @author Alesia Sherstneva
+ */
+public class SortedCustomArrayList<E extends Comparable<E>> implements Comparator<E> {
+    /**
+     * The maximum capacity of the backing array. Some VMs reserve header words in an array.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    /**
+     * The array of objects which contains elements of the list in sorted order.
+     */
+    private Object[] list;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private int size;
+
+    /**
+     * The policy that decides how much the backing array grows when it is full.
+     */
+    private final GrowthPolicy growthPolicy = GrowthPolicy.geometric();
+
+    /**
+     * The comparator that defines the order of elements.
+     */
+    private final Comparator<? super E> comparator;
+
+    /**
+     * Constructor that creates empty list with default capacity of 10 that keeps elements in natural order.
+     */
+    public SortedCustomArrayList() {
+        this(10, null);
+    }
+
+    /**
+     * Constructor that creates empty list with default capacity of 10 that keeps elements in the given order.
+     *
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     */
+    public SortedCustomArrayList(Comparator<? super E> comparator) {
+        this(10, comparator);
+    }
+
+    /**
+     * Constructor that creates empty list with initial capacity that keeps elements in the given order.
+     *
+     * @param capacity   the initial capacity of new list
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     * @throws IllegalArgumentException if the initial capacity is less than 0
+     */
+    public SortedCustomArrayList(int capacity, Comparator<? super E> comparator) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity should be a positive number or zero");
+        } else if (capacity == 0) {
+            capacity = 10;
+        }
+        this.comparator = comparator == null ? this : comparator;
+        list = new Object[capacity];
+    }
+
+    /**
+     * Inserts new element at its position in the order. The element is put after all equal elements.
+     *
+     * @param element new element to add
+     * @return the index of the new element
+     * @throws NullPointerException if the element is null
+     */
+    public int add(E element) {
+        Objects.requireNonNull(element, "Element should not be null");
+        if (size == list.length) {
+            increaseCapacity(size + 1);
+        }
+        int index = upperBound(element, 0, size);
+        System.arraycopy(list, index, list, index + 1, size - index);
+        list[index] = element;
+        size++;
+        return index;
+    }
+
+    /**
+     * Inserts all given elements at their positions in the order.
+     * The capacity is increased at most once.
+     *
+     * @param elements elements to add
+     * @throws NullPointerException if any element is null
+     */
+    public void addAll(E... elements) {
+        merge(Arrays.copyOf(elements, elements.length, Object[].class));
+    }
+
+    /**
+     * Inserts all elements of the given collection at their positions in the order.
+     * The batch is sorted and merged into the backing array from the end, so only the elements
+     * greater than the least element of the batch are moved, each of them once.
+     *
+     * @param elements collection of elements to add
+     * @throws NullPointerException if any element is null
+     */
+    public void addAll(Collection<? extends E> elements) {
+        merge(elements.toArray());
+    }
+
+    private void merge(Object[] batch) {
+        int count = batch.length;
+        for (Object element : batch) {
+            Objects.requireNonNull(element, "Element should not be null");
+        }
+        if (count == 0) {
+            return;
+        }
+        TimSort.sort(batch, 0, count, comparator);
+        if (size + count > list.length) {
+            increaseCapacity(size + count);
+        }
+        int i = size - 1;
+        int j = count - 1;
+        int k = size + count - 1;
+        while (j >= 0) {
+            if (i >= 0 && comparator.compare((E) list[i], (E) batch[j]) > 0) {
+                list[k--] = list[i--];
+            } else {
+                list[k--] = batch[j--];
+            }
+        }
+        size += count;
+    }
+
+    private void increaseCapacity(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        int newCapacity = Math.min(Math.max(growthPolicy.newCapacity(list.length, minCapacity), minCapacity),
+                MAX_CAPACITY);
+        list = Arrays.copyOf(list, newCapacity);
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * All following elements are moving to the left by one position.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void remove(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        System.arraycopy(list, index + 1, list, index, size - index - 1);
+        list[--size] = null;
+    }
+
+    /**
+     * Removes from the list the first element that is equal to given element.
+     * If the list doesn't contain a given element, the method does nothing.
+     *
+     * @param element element to be removed
+     */
+    public void remove(E element) {
+        int index = indexOf(element);
+        if (index >= 0) {
+            remove(index);
+        }
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public E get(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        return (E) list[index];
+    }
+
+    private void throwWrongIndexException(int wrongIndex) {
+        if (wrongIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (wrongIndex > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", wrongIndex, size));
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the given element is in the list. The element is found with binary search.
+     *
+     * @param element element to be found in the list
+     * @return {@code true} if the list contains given element
+     */
+    public boolean contains(E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given element.
+     * The element is found with binary search.
+     *
+     * @param element element to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(E element) {
+        if (element == null) {
+            return -1;
+        }
+        for (int i = lowerBound(element, 0, size); i < size && comparator.compare((E) list[i], element) == 0; i++) {
+            if (element.equals(list[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of elements that are less than the given element.
+     * It is also the index where the first element equal to the given one is or would be.
+     *
+     * @param element the element to compare with
+     * @return the rank of the element
+     */
+    public int rank(E element) {
+        Objects.requireNonNull(element, "Element should not be null");
+        return lowerBound(element, 0, size);
+    }
+
+    /**
+     * Returns the greatest element that is less than or equal to the given element.
+     *
+     * @param element the element to compare with
+     * @return the floor element, or {@code null} if there is no such element
+     */
+    public E floor(E element) {
+        Objects.requireNonNull(element, "Element should not be null");
+        int index = upperBound(element, 0, size) - 1;
+        return index >= 0 ? (E) list[index] : null;
+    }
+
+    /**
+     * Returns the least element that is greater than or equal to the given element.
+     *
+     * @param element the element to compare with
+     * @return the ceiling element, or {@code null} if there is no such element
+     */
+    public E ceiling(E element) {
+        Objects.requireNonNull(element, "Element should not be null");
+        int index = lowerBound(element, 0, size);
+        return index < size ? (E) list[index] : null;
+    }
+
+    /**
+     * Returns new list with the elements that are greater than or equal to {@code fromElement}
+     * and less than {@code toElement}. The bounds are found with binary search and the elements
+     * are copied with one block copy.
+     *
+     * @param fromElement the lower bound, inclusive
+     * @param toElement   the upper bound, exclusive
+     * @return new sorted list with the elements of the range
+     * @throws IllegalArgumentException if {@code fromElement} is greater than {@code toElement}
+     */
+    public SortedCustomArrayList<E> subRange(E fromElement, E toElement) {
+        Objects.requireNonNull(fromElement, "Element should not be null");
+        Objects.requireNonNull(toElement, "Element should not be null");
+        if (comparator.compare(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("From element is greater than to element");
+        }
+        int fromIndex = lowerBound(fromElement, 0, size);
+        int toIndex = lowerBound(toElement, fromIndex, size);
+        SortedCustomArrayList<E> range = new SortedCustomArrayList<E>(toIndex - fromIndex,
+                comparator == this ? null : comparator);
+        System.arraycopy(list, fromIndex, range.list, 0, toIndex - fromIndex);
+        range.size = toIndex - fromIndex;
+        return range;
+    }
+
+    /**
+     * Returns the index of the first element in the range that is not less than the given one.
+     */
+    private int lowerBound(E element, int low, int high) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare((E) list[middle], element) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the first element in the range that is greater than the given one.
+     */
+    private int upperBound(E element, int low, int high) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (comparator.compare((E) list[middle], element) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public int compare(E object1, E object2) {
+        return object1.compareTo(object2);
+    }
+
+    /**
+     * Returns a new array which contains all elements of the list in sorted order.
+     *
+     * @return array of elements
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(list, size);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(list[i]);
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,268 @@
+package ru.astondevs;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Sorting algorithms that work directly on the backing array of a list.
+ * <p>
+ * The main entry point is an introspective dual-pivot quick sort: ranges are partitioned around two pivots,
+ * small ranges are finished with insertion sort and ranges that are partitioned too many times are
+ * sorted with heap sort, so the running time is O(n log n) in the worst case.
+ * Pending ranges are kept on an explicit stack instead of the call stack.
+ *
+ * @author Alesia Sherstneva
+ */
+final class Sorting {
+    /**
+     * Ranges shorter than this are sorted with insertion sort.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private Sorting() {
+    }
+
+    /**
+     * Sorts the given range of the array with the introspective dual-pivot quick sort. The sort is not stable.
+     *
+     * @param array      the array to be sorted
+     * @param fromIndex  index of the first element, inclusive
+     * @param toIndex    index of the last element, exclusive
+     * @param comparator the comparator that defines the order
+     * @param <T>        the type of elements in the array
+     */
+    static <T> void introSort(Object[] array, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        int length = toIndex - fromIndex;
+        if (length < 2) {
+            return;
+        }
+        int[] stack = new int[3 * 32];
+        int top = 0;
+        stack[top++] = fromIndex;
+        stack[top++] = toIndex - 1;
+        stack[top++] = 3 * (32 - Integer.numberOfLeadingZeros(length));
+
+        while (top > 0) {
+            int depth = stack[--top];
+            int high = stack[--top];
+            int low = stack[--top];
+
+            if (high - low < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, low, high, comparator);
+                continue;
+            }
+            if (depth == 0) {
+                heapSort(array, low, high, comparator);
+                continue;
+            }
+
+            long bounds = partition(array, low, high, comparator);
+            int less = (int) (bounds >>> 32);
+            int great = (int) bounds;
+            boolean equalPivots = comparator.compare((T) array[less], (T) array[great]) == 0;
+
+            if (top + 9 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            // The depth limit bounds the number of partitioning levels, so the stack stays O(log n).
+            top = push(stack, top, low, less - 1, depth - 1);
+            top = push(stack, top, great + 1, high, depth - 1);
+            if (!equalPivots) {
+                top = push(stack, top, less + 1, great - 1, depth - 1);
+            }
+        }
+    }
+
+    /**
+     * Reorders the given range so that the element at index {@code k} is the one that would be there
+     * if the range were sorted, all elements before it are not greater and all elements after it are not less.
+     * Uses the same dual-pivot partitioning as {@link #introSort} but continues only with the part that
+     * contains {@code k}, so it takes linear time on average. Ranges that are partitioned too many times
+     * are sorted with heap sort, which bounds the worst case by O(n log n).
+     *
+     * @param array      the array to be reordered
+     * @param fromIndex  index of the first element, inclusive
+     * @param toIndex    index of the last element, exclusive
+     * @param k          the index of the element to be placed
+     * @param comparator the comparator that defines the order
+     * @param <T>        the type of elements in the array
+     */
+    static <T> void select(Object[] array, int fromIndex, int toIndex, int k, Comparator<? super T> comparator) {
+        int low = fromIndex;
+        int high = toIndex - 1;
+        int depth = 2 * (32 - Integer.numberOfLeadingZeros(toIndex - fromIndex));
+        while (high > low) {
+            if (high - low < INSERTION_SORT_THRESHOLD) {
+                insertionSort(array, low, high, comparator);
+                return;
+            }
+            if (depth-- == 0) {
+                heapSort(array, low, high, comparator);
+                return;
+            }
+            long bounds = partition(array, low, high, comparator);
+            int less = (int) (bounds >>> 32);
+            int great = (int) bounds;
+            if (k < less) {
+                high = less - 1;
+            } else if (k > great) {
+                low = great + 1;
+            } else if (k == less || k == great
+                    || comparator.compare((T) array[less], (T) array[great]) == 0) {
+                return;
+            } else {
+                low = less + 1;
+                high = great - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code k} least elements of the given range in ascending order. The range is not changed.
+     * The elements are collected in a bounded max-heap of size {@code k}, so the running time is O(n log k).
+     *
+     * @param array      the array to be scanned
+     * @param fromIndex  index of the first element, inclusive
+     * @param toIndex    index of the last element, exclusive
+     * @param k          the number of elements to be returned, not greater than the length of the range
+     * @param comparator the comparator that defines the order
+     * @param <T>        the type of elements in the array
+     * @return new array with {@code k} least elements
+     */
+    static <T> Object[] least(Object[] array, int fromIndex, int toIndex, int k, Comparator<? super T> comparator) {
+        Object[] heap = Arrays.copyOfRange(array, fromIndex, fromIndex + k);
+        if (k == 0) {
+            return heap;
+        }
+        for (int i = (k >>> 1) - 1; i >= 0; i--) {
+            siftDown(heap, 0, i, k, comparator);
+        }
+        for (int i = fromIndex + k; i < toIndex; i++) {
+            if (comparator.compare((T) array[i], (T) heap[0]) < 0) {
+                heap[0] = array[i];
+                siftDown(heap, 0, 0, k, comparator);
+            }
+        }
+        for (int last = k - 1; last > 0; last--) {
+            swap(heap, 0, last);
+            siftDown(heap, 0, 0, last, comparator);
+        }
+        return heap;
+    }
+
+    private static int push(int[] stack, int top, int low, int high, int depth) {
+        if (high > low) {
+            stack[top++] = low;
+            stack[top++] = high;
+            stack[top++] = depth;
+        }
+        return top;
+    }
+
+    /**
+     * Partitions the range around two pivots chosen from five samples.
+     * Returns the final positions of the pivots packed into one long value.
+     */
+    private static <T> long partition(Object[] array, int low, int high, Comparator<? super T> comparator) {
+        int length = high - low + 1;
+        int seventh = (length >> 3) + (length >> 6) + 1;
+        int e3 = (low + high) >>> 1;
+        int e2 = e3 - seventh;
+        int e1 = e2 - seventh;
+        int e4 = e3 + seventh;
+        int e5 = e4 + seventh;
+        sortSamples(array, comparator, e1, e2, e3, e4, e5);
+
+        swap(array, e2, low);
+        swap(array, e4, high);
+        T pivot1 = (T) array[low];
+        T pivot2 = (T) array[high];
+
+        int less = low + 1;
+        int great = high - 1;
+        int k = less;
+        while (k <= great) {
+            T element = (T) array[k];
+            if (comparator.compare(element, pivot1) < 0) {
+                array[k] = array[less];
+                array[less++] = element;
+            } else if (comparator.compare(element, pivot2) > 0) {
+                while (k < great && comparator.compare((T) array[great], pivot2) > 0) {
+                    great--;
+                }
+                swap(array, k, great--);
+                if (comparator.compare((T) array[k], pivot1) < 0) {
+                    swap(array, k, less++);
+                }
+            }
+            k++;
+        }
+        less--;
+        great++;
+        swap(array, low, less);
+        swap(array, high, great);
+        return ((long) less << 32) | (great & 0xFFFFFFFFL);
+    }
+
+    private static <T> void sortSamples(Object[] array, Comparator<? super T> comparator, int... indexes) {
+        for (int i = 1; i < indexes.length; i++) {
+            for (int j = i; j > 0 && comparator.compare((T) array[indexes[j - 1]], (T) array[indexes[j]]) > 0; j--) {
+                swap(array, indexes[j - 1], indexes[j]);
+            }
+        }
+    }
+
+    /**
+     * Sorts the range between {@code low} and {@code high}, both inclusive, with insertion sort.
+     */
+    static <T> void insertionSort(Object[] array, int low, int high, Comparator<? super T> comparator) {
+        for (int i = low + 1; i <= high; i++) {
+            T element = (T) array[i];
+            int j = i - 1;
+            while (j >= low && comparator.compare((T) array[j], element) > 0) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = element;
+        }
+    }
+
+    /**
+     * Sorts the range between {@code low} and {@code high}, both inclusive, with heap sort.
+     */
+    static <T> void heapSort(Object[] array, int low, int high, Comparator<? super T> comparator) {
+        int length = high - low + 1;
+        for (int i = (length >>> 1) - 1; i >= 0; i--) {
+            siftDown(array, low, i, length, comparator);
+        }
+        for (int last = length - 1; last > 0; last--) {
+            swap(array, low, low + last);
+            siftDown(array, low, 0, last, comparator);
+        }
+    }
+
+    private static <T> void siftDown(Object[] array, int offset, int node, int length,
+                                     Comparator<? super T> comparator) {
+        T element = (T) array[offset + node];
+        int half = length >>> 1;
+        while (node < half) {
+            int child = 2 * node + 1;
+            if (child + 1 < length
+                    && comparator.compare((T) array[offset + child], (T) array[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (comparator.compare(element, (T) array[offset + child]) >= 0) {
+                break;
+            }
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
+        array[offset + node] = element;
+    }
+
+    static void swap(Object[] array, int index1, int index2) {
+        Object temp = array[index1];
+        array[index1] = array[index2];
+        array[index2] = temp;
+    }
+}
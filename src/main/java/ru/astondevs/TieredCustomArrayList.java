@@ -0,0 +1,369 @@
+package ru.astondevs;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Version of {@link CustomArrayList} that stores elements in blocks of fixed size (a tiered vector).
+ * <p>
+ * Every block is a circular buffer and all blocks except the last one are full, so the block and the slot
+ * of an element are computed from its index with bit operations and {@link #get(int)} takes constant time.
+ * Inserting or removing an element in the middle shifts elements only inside one block; every following
+ * block just passes one element to its neighbour by moving its head. So these operations take
+ * O(b + n / b) time for blocks of size b instead of O(n). Blocks of about √n elements are the best choice.
+ *
+ * @param <E> the type of elements in this list
+ * @author Alesia Sherstneva
+ */
+public class TieredCustomArrayList<E extends Comparable<E>> implements Comparator<E> {
+    /**
+     * The default number of elements in one block.
+     */
+    private static final int DEFAULT_BLOCK_CAPACITY = 1024;
+
+    private final int blockShift;
+    private final int blockMask;
+
+    /**
+     * The blocks which contain elements of the list.
+     */
+    private Object[][] blocks = new Object[8][];
+
+    /**
+     * The position of the first element in every block.
+     */
+    private int[] heads = new int[8];
+
+    private int blockCount;
+
+    /**
+     * The size of the list (the number of elements it contains).
+     */
+    private int size;
+
+    /**
+     * Constructor that creates empty list with the default block capacity of 1024.
+     */
+    public TieredCustomArrayList() {
+        this(DEFAULT_BLOCK_CAPACITY);
+    }
+
+    /**
+     * Constructor that creates empty list with the given block capacity rounded up to the power of two.
+     *
+     * @param blockCapacity the number of elements in one block
+     * @throws IllegalArgumentException if the block capacity is not a positive number
+     */
+    public TieredCustomArrayList(int blockCapacity) {
+        if (blockCapacity <= 0 || blockCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Block capacity should be a positive number");
+        }
+        int roundedCapacity = blockCapacity == 1 ? 1 : Integer.highestOneBit(blockCapacity - 1) << 1;
+        blockShift = Integer.numberOfTrailingZeros(roundedCapacity);
+        blockMask = roundedCapacity - 1;
+    }
+
+    /**
+     * Appends new element to the end of the list.
+     *
+     * @param element new element to add
+     */
+    public void add(E element) {
+        if (size == blockCount << blockShift) {
+            addBlock();
+        }
+        int block = size >>> blockShift;
+        blocks[block][(heads[block] + (size & blockMask)) & blockMask] = element;
+        size++;
+    }
+
+    /**
+     * Inserts the new element at the given position in the list.
+     * Elements are shifted inside one block, all following blocks pass one element to the next block.
+     *
+     * @param index   index where the new element will be inserted
+     * @param element new element to insert
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void add(int index, E element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        if (size == blockCount << blockShift) {
+            addBlock();
+        }
+        int target = index >>> blockShift;
+        int last = size >>> blockShift;
+        for (int block = last; block > target; block--) {
+            pushFirst(block, popLast(block - 1, blockMask + 1));
+        }
+        int count = Math.min(size - (target << blockShift), blockMask + 1) - (last > target ? 1 : 0);
+        insertIntoBlock(target, index & blockMask, count, element);
+        size++;
+    }
+
+    /**
+     * Replaces the element in the given position with the new element.
+     *
+     * @param index   index where the new element will be replaced
+     * @param element new element to replace
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void set(int index, E element) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        int block = index >>> blockShift;
+        blocks[block][(heads[block] + (index & blockMask)) & blockMask] = element;
+    }
+
+    /**
+     * Removes the element at the given position in the list.
+     * Elements are shifted inside one block, all following blocks pass one element to the previous block.
+     *
+     * @param index index where an element will be removed
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public void remove(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        int target = index >>> blockShift;
+        int last = (size - 1) >>> blockShift;
+        int count = Math.min(size - (target << blockShift), blockMask + 1);
+        removeFromBlock(target, index & blockMask, count);
+        for (int block = target; block < last; block++) {
+            pushLast(block, blockMask, popFirst(block + 1));
+        }
+        size--;
+        if (size == (blockCount - 1) << blockShift) {
+            blocks[--blockCount] = null;
+        }
+    }
+
+    /**
+     * Removes from the list the first element that is equal to given element.
+     * If the list doesn't contain a given element, the method does nothing.
+     *
+     * @param element element to be removed
+     */
+    public void remove(E element) {
+        int index = indexOf(element);
+        if (index >= 0) {
+            remove(index);
+        }
+    }
+
+    /**
+     * Returns the element at the given position in the list.
+     *
+     * @param index index of the element to be returned
+     * @return the element at the given position
+     * @throws IllegalArgumentException  if the index is less than zero
+     * @throws IndexOutOfBoundsException if the index is greater than size of the list
+     */
+    public E get(int index) {
+        if (index < 0 || index > size - 1) {
+            throwWrongIndexException(index);
+        }
+        int block = index >>> blockShift;
+        return (E) blocks[block][(heads[block] + (index & blockMask)) & blockMask];
+    }
+
+    private void throwWrongIndexException(int wrongIndex) {
+        if (wrongIndex < 0) {
+            throw new IllegalArgumentException("Index should be a positive number or zero");
+        }
+        if (wrongIndex > size - 1) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", wrongIndex, size));
+        }
+    }
+
+    /**
+     * Returns the size of the list.
+     *
+     * @return the number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the given element is in the list.
+     *
+     * @param element element to be found in the list
+     * @return {@code true} if the list contains given element
+     */
+    public boolean contains(E element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Returns the index of the first element that is equal to given element.
+     *
+     * @param element element to be found in the list
+     * @return the index of the element, or -1 if the list doesn't contain it
+     */
+    public int indexOf(E element) {
+        for (int block = 0; block < blockCount; block++) {
+            Object[] data = blocks[block];
+            int head = heads[block];
+            int count = Math.min(size - (block << blockShift), blockMask + 1);
+            for (int i = 0; i < count; i++) {
+                if (Objects.equals(element, data[(head + i) & blockMask])) {
+                    return (block << blockShift) + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int compare(E object1, E object2) {
+        return object1.compareTo(object2);
+    }
+
+    /**
+     * Sorts the elements in the list from lesser to greater.
+     * Elements are collected into one array, sorted by the introspective dual-pivot quick sort
+     * and distributed back into the blocks.
+     */
+    public void sortList() {
+        Object[] elements = toArray();
+        Sorting.introSort(elements, 0, size, this);
+        distribute(elements);
+    }
+
+    /**
+     * Sorts the elements in the list in the order defined by the given comparator. The sort is stable.
+     *
+     * @param comparator the comparator that defines the order, or {@code null} to use the natural order
+     */
+    public void sortList(Comparator<? super E> comparator) {
+        Object[] elements = toArray();
+        TimSort.sort(elements, 0, size, comparator == null ? this : comparator);
+        distribute(elements);
+    }
+
+    /**
+     * Returns a new array which contains all elements of the list in the same order.
+     *
+     * @return array of elements
+     */
+    public Object[] toArray() {
+        Object[] elements = new Object[size];
+        for (int block = 0; block < blockCount; block++) {
+            int count = Math.min(size - (block << blockShift), blockMask + 1);
+            int head = heads[block];
+            int firstPart = Math.min(count, blockMask + 1 - head);
+            System.arraycopy(blocks[block], head, elements, block << blockShift, firstPart);
+            System.arraycopy(blocks[block], 0, elements, (block << blockShift) + firstPart, count - firstPart);
+        }
+        return elements;
+    }
+
+    private void distribute(Object[] elements) {
+        for (int block = 0; block < blockCount; block++) {
+            int count = Math.min(size - (block << blockShift), blockMask + 1);
+            Arrays.fill(blocks[block], null);
+            System.arraycopy(elements, block << blockShift, blocks[block], 0, count);
+            heads[block] = 0;
+        }
+    }
+
+    private void addBlock() {
+        if (((long) blockCount + 1) << blockShift > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Required capacity is too large");
+        }
+        if (blockCount == blocks.length) {
+            blocks = Arrays.copyOf(blocks, blockCount * 2);
+            heads = Arrays.copyOf(heads, blockCount * 2);
+        }
+        blocks[blockCount] = new Object[blockMask + 1];
+        heads[blockCount] = 0;
+        blockCount++;
+    }
+
+    /**
+     * Inserts the element at the offset of the block which contains {@code count} elements and has a free slot.
+     * Moves the shorter side of the block.
+     */
+    private void insertIntoBlock(int block, int offset, int count, Object element) {
+        Object[] data = blocks[block];
+        int head = heads[block];
+        if (offset < count - offset) {
+            head = (head - 1) & blockMask;
+            for (int i = 0; i < offset; i++) {
+                data[(head + i) & blockMask] = data[(head + i + 1) & blockMask];
+            }
+            heads[block] = head;
+        } else {
+            for (int i = count; i > offset; i--) {
+                data[(head + i) & blockMask] = data[(head + i - 1) & blockMask];
+            }
+        }
+        data[(head + offset) & blockMask] = element;
+    }
+
+    /**
+     * Removes the element at the offset of the block which contains {@code count} elements.
+     * Moves the shorter side of the block.
+     */
+    private void removeFromBlock(int block, int offset, int count) {
+        Object[] data = blocks[block];
+        int head = heads[block];
+        if (offset < count - offset - 1) {
+            for (int i = offset; i > 0; i--) {
+                data[(head + i) & blockMask] = data[(head + i - 1) & blockMask];
+            }
+            data[head] = null;
+            heads[block] = (head + 1) & blockMask;
+        } else {
+            for (int i = offset; i < count - 1; i++) {
+                data[(head + i) & blockMask] = data[(head + i + 1) & blockMask];
+            }
+            data[(head + count - 1) & blockMask] = null;
+        }
+    }
+
+    private Object popLast(int block, int count) {
+        int position = (heads[block] + count - 1) & blockMask;
+        Object element = blocks[block][position];
+        blocks[block][position] = null;
+        return element;
+    }
+
+    private void pushFirst(int block, Object element) {
+        int head = (heads[block] - 1) & blockMask;
+        blocks[block][head] = element;
+        heads[block] = head;
+    }
+
+    private Object popFirst(int block) {
+        int head = heads[block];
+        Object element = blocks[block][head];
+        blocks[block][head] = null;
+        heads[block] = (head + 1) & blockMask;
+        return element;
+    }
+
+    private void pushLast(int block, int count, Object element) {
+        blocks[block][(heads[block] + count) & blockMask] = element;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder().append("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                result.append(", ");
+            }
+            result.append(get(i));
+        }
+        return result.append("]").toString();
+    }
+}
@@ -0,0 +1,503 @@
+package ru.astondevs;
+
+import java.util.Comparator;
+
+/**
+ * Stable merge sort that takes advantage of the order already present in the data.
+ * <p>
+ * The range is split into natural runs: ascending runs are used as they are, strictly descending runs are
+ * reversed and short runs are extended with binary insertion sort. Runs are kept on a stack and merged
+ * while the stack invariants are broken. When one run wins many comparisons in a row the merge switches
+ * to galloping mode and copies whole blocks at once, so nearly sorted input is sorted in close to linear time.
+ *
+ * @param <T> the type of elements to be sorted
+ * @author Alesia Sherstneva
+ */
+final class TimSort<T> {
+    /**
+     * Ranges shorter than this are sorted with binary insertion sort without merging.
+     */
+    private static final int MIN_MERGE = 32;
+
+    /**
+     * The number of consecutive wins of one run after which the merge switches to galloping mode.
+     */
+    private static final int MIN_GALLOP = 7;
+
+    private final Object[] array;
+    private final Comparator<? super T> comparator;
+    private final int length;
+    private int minGallop = MIN_GALLOP;
+    private Object[] buffer;
+
+    private final int[] runBase = new int[49];
+    private final int[] runLength = new int[49];
+    private int stackSize;
+
+    private TimSort(Object[] array, Comparator<? super T> comparator, int length) {
+        this.array = array;
+        this.comparator = comparator;
+        this.length = length;
+        this.buffer = new Object[Math.min(256, length >>> 1)];
+    }
+
+    /**
+     * Sorts the given range of the array. The sort is stable.
+     *
+     * @param array      the array to be sorted
+     * @param fromIndex  index of the first element, inclusive
+     * @param toIndex    index of the last element, exclusive
+     * @param comparator the comparator that defines the order
+     * @param <T>        the type of elements in the array
+     * @throws IllegalArgumentException if the comparator violates its contract
+     */
+    static <T> void sort(Object[] array, int fromIndex, int toIndex, Comparator<? super T> comparator) {
+        int remaining = toIndex - fromIndex;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int initialRun = countRunAndMakeAscending(array, fromIndex, toIndex, comparator);
+            binaryInsertionSort(array, fromIndex, toIndex, fromIndex + initialRun, comparator);
+            return;
+        }
+
+        TimSort<T> timSort = new TimSort<>(array, comparator, remaining);
+        int minRun = minRunLength(remaining);
+        int low = fromIndex;
+        do {
+            int run = countRunAndMakeAscending(array, low, toIndex, comparator);
+            if (run < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binaryInsertionSort(array, low, low + forced, low + run, comparator);
+                run = forced;
+            }
+            timSort.pushRun(low, run);
+            timSort.mergeCollapse();
+            low += run;
+            remaining -= run;
+        } while (remaining != 0);
+        timSort.mergeForceCollapse();
+    }
+
+    /**
+     * Sorts the range with binary insertion sort, assuming that the elements before {@code start} are sorted.
+     */
+    static <T> void binaryInsertionSort(Object[] array, int low, int high, int start,
+                                        Comparator<? super T> comparator) {
+        if (start == low) {
+            start++;
+        }
+        for (; start < high; start++) {
+            T pivot = (T) array[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare(pivot, (T) array[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = pivot;
+        }
+    }
+
+    /**
+     * Returns the length of the run that begins at {@code low}.
+     * A strictly descending run is reversed, so equal elements never change their order.
+     */
+    static <T> int countRunAndMakeAscending(Object[] array, int low, int high, Comparator<? super T> comparator) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (comparator.compare((T) array[runHigh++], (T) array[low]) < 0) {
+            while (runHigh < high && comparator.compare((T) array[runHigh], (T) array[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverseRange(array, low, runHigh);
+        } else {
+            while (runHigh < high && comparator.compare((T) array[runHigh], (T) array[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    private static void reverseRange(Object[] array, int low, int high) {
+        high--;
+        while (low < high) {
+            Object temp = array[low];
+            array[low++] = array[high];
+            array[high--] = temp;
+        }
+    }
+
+    private static int minRunLength(int length) {
+        int lowBit = 0;
+        while (length >= MIN_MERGE) {
+            lowBit |= length & 1;
+            length >>= 1;
+        }
+        return length + lowBit;
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Merges runs on the stack until the invariants {@code len[i - 2] > len[i - 1] + len[i]}
+     * and {@code len[i - 1] > len[i]} hold for the top of the stack.
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                    || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        // Elements of the first run that are not greater than the first element of the second run stay in place.
+        int skipped = gallopRight((T) array[base2], array, base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+        // Elements of the second run that are not less than the last element of the first run stay in place.
+        length2 = gallopLeft((T) array[base1 + length1 - 1], array, base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Returns the leftmost position where the key can be inserted into the sorted range,
+     * starting the exponential search from {@code hint}.
+     */
+    private int gallopLeft(T key, Object[] range, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, (T) range[base + hint]) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, (T) range[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, (T) range[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, (T) range[base + middle]) > 0) {
+                lastOffset = middle + 1;
+            } else {
+                offset = middle;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the rightmost position where the key can be inserted into the sorted range,
+     * starting the exponential search from {@code hint}.
+     */
+    private int gallopRight(T key, Object[] range, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, (T) range[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, (T) range[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, (T) range[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, (T) range[base + middle]) < 0) {
+                offset = middle;
+            } else {
+                lastOffset = middle + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Merges two adjacent runs from left to right. The first run is not longer than the second one,
+     * its first element is greater than the first element of the second run and its last element
+     * is greater than all elements of the second run.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        Object[] temp = ensureBuffer(length1);
+        System.arraycopy(array, base1, temp, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int destination = base1;
+
+        array[destination++] = array[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(temp, cursor1, array, destination, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(array, cursor2, array, destination, length2);
+            array[destination + length2] = temp[cursor1];
+            return;
+        }
+
+        int gallop = minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (comparator.compare((T) array[cursor2], (T) temp[cursor1]) < 0) {
+                    array[destination++] = array[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    array[destination++] = temp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            do {
+                count1 = gallopRight((T) array[cursor2], temp, cursor1, length1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(temp, cursor1, array, destination, count1);
+                    destination += count1;
+                    cursor1 += count1;
+                    length1 -= count1;
+                    if (length1 <= 1) {
+                        break outer;
+                    }
+                }
+                array[destination++] = array[cursor2++];
+                if (--length2 == 0) {
+                    break outer;
+                }
+
+                count2 = gallopLeft((T) temp[cursor1], array, cursor2, length2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(array, cursor2, array, destination, count2);
+                    destination += count2;
+                    cursor2 += count2;
+                    length2 -= count2;
+                    if (length2 == 0) {
+                        break outer;
+                    }
+                }
+                array[destination++] = temp[cursor1++];
+                if (--length1 == 1) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        minGallop = Math.max(gallop, 1);
+
+        if (length1 == 1) {
+            System.arraycopy(array, cursor2, array, destination, length2);
+            array[destination + length2] = temp[cursor1];
+        } else if (length1 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        } else {
+            System.arraycopy(temp, cursor1, array, destination, length1);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs from right to left. The second run is shorter than the first one,
+     * its last element is less than the last element of the first run and its first element
+     * is not less than the first element of the first run.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        Object[] temp = ensureBuffer(length2);
+        System.arraycopy(array, base2, temp, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int destination = base2 + length2 - 1;
+
+        array[destination--] = array[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(temp, 0, array, destination - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(array, cursor1 + 1, array, destination + 1, length1);
+            array[destination] = temp[cursor2];
+            return;
+        }
+
+        int gallop = minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+            do {
+                if (comparator.compare((T) temp[cursor2], (T) array[cursor1]) < 0) {
+                    array[destination--] = array[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    array[destination--] = temp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            do {
+                count1 = length1 - gallopRight((T) temp[cursor2], array, base1, length1, length1 - 1);
+                if (count1 != 0) {
+                    destination -= count1;
+                    cursor1 -= count1;
+                    length1 -= count1;
+                    System.arraycopy(array, cursor1 + 1, array, destination + 1, count1);
+                    if (length1 == 0) {
+                        break outer;
+                    }
+                }
+                array[destination--] = temp[cursor2--];
+                if (--length2 == 1) {
+                    break outer;
+                }
+
+                count2 = length2 - gallopLeft((T) array[cursor1], temp, 0, length2, length2 - 1);
+                if (count2 != 0) {
+                    destination -= count2;
+                    cursor2 -= count2;
+                    length2 -= count2;
+                    System.arraycopy(temp, cursor2 + 1, array, destination + 1, count2);
+                    if (length2 <= 1) {
+                        break outer;
+                    }
+                }
+                array[destination--] = array[cursor1--];
+                if (--length1 == 0) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        minGallop = Math.max(gallop, 1);
+
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(array, cursor1 + 1, array, destination + 1, length1);
+            array[destination] = temp[cursor2];
+        } else if (length2 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        } else {
+            System.arraycopy(temp, 0, array, destination - (length2 - 1), length2);
+        }
+    }
+
+    private Object[] ensureBuffer(int minCapacity) {
+        if (buffer.length < minCapacity) {
+            int newCapacity = Math.max(minCapacity, Math.min(buffer.length * 2, length >>> 1));
+            buffer = new Object[newCapacity];
+        }
+        return buffer;
+    }
+}
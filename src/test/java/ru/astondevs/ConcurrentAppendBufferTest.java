@@ -0,0 +1,101 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class ConcurrentAppendBufferTest {
+    ConcurrentAppendBuffer<Integer> buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ConcurrentAppendBuffer<>();
+    }
+
+    @Test
+    public void addAndGetTest() {
+        // when
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, buffer.add(i));
+        }
+        // then
+        assertEquals(1000, buffer.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, buffer.get(i));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.get(1000),
+                String.format("Index %d out of bounds for length %d", 1000, 1000));
+        assertThrows(NullPointerException.class, () -> buffer.add(null), "Element should not be null");
+    }
+
+    @Test
+    public void concurrentProducersAndConsumerTest() throws Exception {
+        // given
+        int producers = 4;
+        int elementsPerProducer = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        List<Future<?>> futures = new ArrayList<>();
+        CustomArrayList<Integer> drained = new CustomArrayList<>();
+        // when
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    buffer.add(producer * elementsPerProducer + i);
+                }
+            }));
+        }
+        boolean finished = false;
+        while (!finished) {
+            finished = futures.stream().allMatch(Future::isDone);
+            buffer.drainTo(drained);
+        }
+        executor.shutdown();
+        buffer.drainTo(drained);
+        // then
+        assertEquals(producers * elementsPerProducer, buffer.size());
+        assertEquals(producers * elementsPerProducer, drained.size());
+        drained.sortList();
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(i, drained.get(i));
+        }
+        assertThrows(IllegalStateException.class, () -> buffer.get(0), "Element 0 has been drained");
+    }
+
+    @Test
+    public void drainedSegmentsAreReleasedTest() {
+        // given
+        for (int i = 0; i < 100; i++) {
+            buffer.add(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        // when
+        int firstDrain = buffer.drainTo(drained::add, 15);
+        // then
+        assertEquals(15, firstDrain);
+        assertEquals(3, buffer.allocatedSegments());
+        // when
+        int secondDrain = buffer.drainTo(drained::add, 33);
+        // then
+        assertEquals(33, secondDrain);
+        assertEquals(1, buffer.allocatedSegments());
+        assertThrows(IllegalStateException.class, () -> buffer.get(20), "Element 20 has been drained");
+        assertEquals(48, buffer.get(48));
+        // when
+        for (int i = 100; i < 120; i++) {
+            buffer.add(i);
+        }
+        buffer.drainTo(drained::add, Integer.MAX_VALUE);
+        // then
+        assertEquals(1, buffer.allocatedSegments());
+        assertEquals(120, drained.size());
+        for (int i = 0; i < drained.size(); i++) {
+            assertEquals(i, drained.get(i));
+        }
+    }
+}
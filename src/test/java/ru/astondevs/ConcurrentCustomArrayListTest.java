@@ -0,0 +1,105 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class ConcurrentCustomArrayListTest {
+    ConcurrentCustomArrayList<Integer> intList;
+    int newElement;
+
+    static Random random;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @BeforeEach
+    void setUp() {
+        intList = new ConcurrentCustomArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            intList.add(random.nextInt(1000));
+        }
+
+        newElement = random.nextInt(1000) + 1000;
+    }
+
+    @Test
+    public void singleThreadOperationsTest() {
+        // when
+        intList.add(5, newElement);
+        // then
+        assertEquals(11, intList.size());
+        assertEquals(newElement, intList.get(5));
+        assertTrue(intList.contains(newElement));
+
+        // when
+        intList.remove((Integer) newElement);
+        intList.sortList();
+        // then
+        assertFalse(intList.contains(newElement));
+        for (int i = 0; i < intList.size() - 1; i++) {
+            assertTrue(intList.get(i) <= intList.get(i + 1));
+        }
+
+        // given
+        int wrongIndex = intList.size();
+        // when, then
+        assertThrows(IndexOutOfBoundsException.class, () -> intList.get(wrongIndex),
+                String.format("Index %d out of bounds for length %d", wrongIndex, intList.size()));
+        assertThrows(IllegalArgumentException.class, () -> intList.set(-1, newElement),
+                "Index should be a positive number or zero");
+    }
+
+    @Test
+    public void concurrentReadsDuringWritesTest() throws Exception {
+        // given
+        int writers = 4;
+        int elementsPerWriter = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> futures = new ArrayList<>();
+        // when
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                while (writing.get()) {
+                    int index = ThreadLocalRandom.current().nextInt(10);
+                    assertNotNull(intList.get(index));
+                    intList.contains(newElement);
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> writerFutures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            writerFutures.add(executor.submit(() -> {
+                for (int j = 0; j < elementsPerWriter; j++) {
+                    intList.add(j);
+                    if (j % 100 == 0) {
+                        intList.add(5, j);
+                        intList.remove(5);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : writerFutures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        writing.set(false);
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        // then
+        assertEquals(10 + writers * elementsPerWriter, intList.size());
+    }
+}
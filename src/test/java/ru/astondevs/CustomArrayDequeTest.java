@@ -0,0 +1,124 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class CustomArrayDequeTest {
+    CustomArrayDeque<Integer> deque;
+    Integer newElement;
+
+    static Random random;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @BeforeEach
+    void setUp() {
+        deque = new CustomArrayDeque<>();
+        for (int i = 0; i < 10; i++) {
+            deque.add(random.nextInt(1000));
+        }
+
+        newElement = random.nextInt(1000) + 1000;
+    }
+
+    @Test
+    public void addAndRemoveAtBothEndsTest() {
+        // given
+        Integer first = deque.get(0);
+        Integer last = deque.get(9);
+        // when
+        deque.addFirst(newElement);
+        // then
+        assertEquals(11, deque.size());
+        assertEquals(newElement, deque.peek());
+        assertEquals(first, deque.get(1));
+
+        // when
+        Integer removedFirst = deque.removeFirst();
+        Integer removedLast = deque.removeLast();
+        // then
+        assertEquals(newElement, removedFirst);
+        assertEquals(last, removedLast);
+        assertEquals(first, deque.peekFirst());
+        assertEquals(9, deque.size());
+
+        // given
+        CustomArrayDeque<Integer> emptyDeque = new CustomArrayDeque<>();
+        // when, then
+        assertNull(emptyDeque.peekLast());
+        assertThrows(NoSuchElementException.class, emptyDeque::removeFirst, "List is empty");
+        assertThrows(IllegalArgumentException.class, () -> deque.get(-1),
+                "Index should be a positive number or zero");
+    }
+
+    @Test
+    public void randomOperationsMatchArrayListTest() {
+        // given
+        CustomArrayDeque<Integer> list = new CustomArrayDeque<>(4);
+        List<Integer> expected = new ArrayList<>();
+        // when
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(7);
+            Integer element = random.nextInt();
+            if (expected.isEmpty() || operation == 0) {
+                list.addLast(element);
+                expected.add(element);
+            } else if (operation == 1) {
+                list.addFirst(element);
+                expected.add(0, element);
+            } else if (operation == 2) {
+                assertEquals(expected.remove(0), list.removeFirst());
+            } else if (operation == 3) {
+                assertEquals(expected.remove(expected.size() - 1), list.removeLast());
+            } else if (operation == 4) {
+                int index = random.nextInt(expected.size());
+                list.add(index, element);
+                expected.add(index, element);
+            } else if (operation == 5) {
+                int index = random.nextInt(expected.size());
+                list.remove(index);
+                expected.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                list.set(index, element);
+                expected.set(index, element);
+            }
+        }
+        // then
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    @Test
+    public void boundedWindowTest() {
+        // given
+        CustomArrayDeque<Integer> window = CustomArrayDeque.bounded(5);
+        // when
+        for (int i = 0; i < 12; i++) {
+            window.addLast(i);
+        }
+        // then
+        assertTrue(window.isBounded());
+        assertEquals(5, window.size());
+        assertEquals(5, window.capacity());
+        assertEquals("[7, 8, 9, 10, 11]", window.toString());
+        assertEquals(7, window.get(0));
+
+        // when
+        window.addFirst(newElement);
+        // then
+        assertEquals(newElement, window.peekFirst());
+        assertEquals(10, window.peekLast());
+        assertThrows(IllegalStateException.class, () -> window.add(2, newElement), "Bounded list is full");
+    }
+}
@@ -1,8 +1,22 @@
 package ru.astondevs;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -200,4 +214,506 @@ class CustomArrayListWithIntTest {
             assertTrue(intList.compare(first, second) <= 0);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void growthPolicyTest() {
+        // given
+        CustomArrayList<Integer> geometricList = new CustomArrayList<>(10);
+        CustomArrayList<Integer> fixedList = new CustomArrayList<>(10, GrowthPolicy.fixed(5));
+        CustomArrayList<Integer> customList = new CustomArrayList<>(10, (current, min) -> current * 4);
+        // when
+        for (int i = 0; i < 11; i++) {
+            geometricList.add(i);
+            fixedList.add(i);
+            customList.add(i);
+        }
+        // then
+        assertEquals(15, geometricList.capacity());
+        assertEquals(15, fixedList.capacity());
+        assertEquals(40, customList.capacity());
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixed(0),
+                "Growth step should be a positive number");
+    }
+
+    @Test
+    public void ensureCapacityAndTrimToSizeTest() {
+        // given
+        assertEquals(10, intList.capacity());
+        // when
+        intList.ensureCapacity(1000);
+        // then
+        assertTrue(intList.capacity() >= 1000);
+        assertEquals(10, intList.size());
+
+        // when
+        intList.add(newElement);
+        intList.trimToSize();
+        // then
+        assertEquals(11, intList.capacity());
+        assertEquals(newElement, intList.get(10));
+    }
+
+    @Test
+    public void sortLargeListsWithDifferentDistributionsTest() {
+        // given
+        int size = 100_000;
+        int[][] distributions = new int[4][size];
+        for (int i = 0; i < size; i++) {
+            distributions[0][i] = random.nextInt();
+            distributions[1][i] = i;
+            distributions[2][i] = size - i;
+            distributions[3][i] = random.nextInt(4);
+        }
+
+        for (int[] distribution : distributions) {
+            CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+            for (int element : distribution) {
+                largeList.add(element);
+            }
+            // when
+            largeList.sortList();
+            // then
+            int[] expected = distribution.clone();
+            Arrays.sort(expected);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected[i], largeList.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void sortNearlySortedListWithComparatorTest() {
+        // given
+        int size = 100_000;
+        CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            largeList.add(i % 1000 == 0 ? random.nextInt(size) : size - i);
+        }
+        // when
+        largeList.sortList(Comparator.reverseOrder());
+        // then
+        for (int i = 0; i < size - 1; i++) {
+            assertTrue(largeList.get(i) >= largeList.get(i + 1));
+        }
+    }
+
+    @Test
+    public void parallelSortTest() {
+        // given
+        int size = 500_000;
+        CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+        int[] expected = new int[size];
+        for (int i = 0; i < size; i++) {
+            expected[i] = random.nextInt();
+            largeList.add(expected[i]);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        // when
+        largeList.parallelSortList(null, pool);
+        // then
+        Arrays.sort(expected);
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[i], largeList.get(i));
+        }
+
+        // when
+        largeList.parallelSortList(Comparator.reverseOrder());
+        // then
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[size - 1 - i], largeList.get(i));
+        }
+
+        // given
+        Object[] range = new Object[size];
+        for (int i = 0; i < size; i++) {
+            range[i] = random.nextInt(1000);
+        }
+        Object[] expectedRange = range.clone();
+        Arrays.sort(expectedRange, 123_457, size);
+        // when
+        ParallelSorting.parallelSort(range, 123_457, size, Comparator.<Integer>naturalOrder(), pool);
+        pool.shutdown();
+        // then
+        assertArrayEquals(expectedRange, range);
+    }
+
+    @Test
+    public void writeAndReadSnapshotFileTest(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("list.snapshot");
+        for (int i = 0; i < 100_000; i++) {
+            intList.add(random.nextInt());
+        }
+        // when
+        intList.writeTo(file, ElementCodec.INTEGER);
+        CustomArrayList<Integer> restoredList = CustomArrayList.readFrom(file, ElementCodec.INTEGER);
+        IntCustomArrayList primitiveList = IntCustomArrayList.readFrom(file);
+        // then
+        assertEquals(intList.size(), restoredList.size());
+        assertEquals(intList.size(), primitiveList.size());
+        for (int i = 0; i < intList.size(); i++) {
+            assertEquals(intList.get(i), restoredList.get(i));
+            assertEquals(intList.get(i), primitiveList.get(i));
+        }
+        assertThrows(IOException.class, () -> CustomArrayList.readFrom(file, ElementCodec.LONG),
+                "Snapshot was written by codec 'int', not 'long'");
+    }
+
+    @Test
+    public void indexOfInSortedListTest() {
+        // given
+        intList.addAll(newElement, newElement);
+        intList.sortList();
+        assertTrue(intList.isSorted());
+        // when
+        int firstIndex = intList.indexOf(newElement);
+        int lastIndex = intList.lastIndexOf(newElement);
+        // then
+        assertEquals(intList.size() - 2, firstIndex);
+        assertEquals(intList.size() - 1, lastIndex);
+        assertEquals(-1, intList.indexOf(-1));
+
+        // when
+        intList.add(newElement + 1);
+        // then
+        assertTrue(intList.isSorted());
+        assertTrue(intList.contains(newElement + 1));
+
+        // when
+        intList.set(0, newElement + 2);
+        // then
+        assertFalse(intList.isSorted());
+        assertEquals(0, intList.indexOf(newElement + 2));
+    }
+
+    @Test
+    public void lookupIndexTest() {
+        // given
+        intList.enableLookupIndex();
+        intList.add(newElement);
+        assertTrue(intList.contains(newElement));
+        // when
+        intList.set(intList.size() - 1, newElement + 1);
+        intList.add(0, newElement);
+        intList.addAll(newElement + 2, newElement + 2);
+        intList.remove(0);
+        intList.removeIf(element -> element == newElement + 1);
+        intList.remove((Integer) (newElement + 2));
+        // then
+        assertFalse(intList.contains(newElement));
+        assertFalse(intList.contains(newElement + 1));
+        assertTrue(intList.contains(newElement + 2));
+        assertEquals(intList.size() - 1, intList.indexOf(newElement + 2));
+
+        // when
+        intList.removeRange(intList.size() - 1, intList.size());
+        intList.disableLookupIndex();
+        // then
+        assertFalse(intList.contains(newElement + 2));
+    }
+
+    @Test
+    public void streamTest() {
+        // given
+        int size = 100_000;
+        CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+        long expectedSum = 0;
+        for (int i = 0; i < size; i++) {
+            int element = random.nextInt(1000);
+            largeList.add(element);
+            expectedSum += element;
+        }
+        // when
+        long sum = largeList.stream().mapToLong(Integer::longValue).sum();
+        long parallelSum = largeList.parallelStream().mapToLong(Integer::longValue).sum();
+        Spliterator<Integer> spliterator = largeList.spliterator();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        // then
+        assertEquals(expectedSum, sum);
+        assertEquals(expectedSum, parallelSum);
+        assertEquals(size / 2, prefix.estimateSize());
+        assertEquals(size / 2, spliterator.estimateSize());
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        assertEquals(intList.size(), intList.stream().count());
+    }
+
+    @Test
+    public void parallelBulkOperationsTest() {
+        // given
+        int size = 100_000;
+        CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            largeList.add(random.nextInt(1000));
+        }
+        Object[] expected = largeList.stream().map(element -> element * 2).toArray();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        CustomArrayList<Integer> evenElements = new CustomArrayList<>();
+        // when
+        largeList.parallelReplaceAll(element -> element * 2, pool, 1000);
+        int count = largeList.filterInto(element -> element % 4 == 0, evenElements, pool, 1000);
+        Integer sum = largeList.reduce(0, Integer::sum, pool, 1000);
+        AtomicLong visited = new AtomicLong();
+        largeList.parallelForEach(element -> visited.incrementAndGet(), pool, 1000);
+        pool.shutdown();
+        // then
+        for (int i = 0; i < size; i++) {
+            assertEquals(expected[i], largeList.get(i));
+        }
+        assertArrayEquals(largeList.stream().filter(element -> element % 4 == 0).toArray(),
+                evenElements.stream().toArray());
+        assertEquals(count, evenElements.size());
+        assertEquals(largeList.stream().mapToInt(Integer::intValue).sum(), sum);
+        assertEquals(size, visited.get());
+
+        // when
+        intList.replaceAll(element -> -element);
+        // then
+        assertTrue(intList.get(0) <= 0);
+        assertEquals(0, new CustomArrayList<Integer>().reduce(0, Integer::sum));
+        assertThrows(IllegalArgumentException.class, () -> intList.reduce(0, Integer::sum, pool, 0),
+                "Threshold should be a positive number");
+
+        // given
+        CustomArrayList<Integer> indexedList = new CustomArrayList<>();
+        indexedList.addAll(0, 1, 2, 3, 4);
+        indexedList.enableLookupIndex();
+        assertTrue(indexedList.contains(0));
+        CustomArrayList<Integer> sortedList = new CustomArrayList<>();
+        sortedList.addAll(4, 3, 2, 1, 0);
+        sortedList.sortList();
+        // when
+        assertThrows(IllegalStateException.class, () -> indexedList.replaceAll(element -> {
+            if (element == 3) {
+                throw new IllegalStateException();
+            }
+            return element + 100;
+        }));
+        assertThrows(IllegalStateException.class, () -> sortedList.replaceAll(element -> {
+            if (element == 2) {
+                throw new IllegalStateException();
+            }
+            return 10 - element;
+        }));
+        // then
+        assertEquals("[100, 101, 102, 3, 4]", indexedList.toString());
+        assertTrue(indexedList.contains(100));
+        assertFalse(indexedList.contains(0));
+        indexedList.remove(Integer.valueOf(100));
+        assertEquals("[101, 102, 3, 4]", indexedList.toString());
+        assertEquals("[10, 9, 2, 3, 4]", sortedList.toString());
+        assertFalse(sortedList.isSorted());
+        assertEquals(1, sortedList.indexOf(9));
+        assertEquals(2, sortedList.min());
+    }
+
+    @Test
+    public void metricsTest() throws JMException {
+        // given
+        ListMetrics metrics = new ListMetrics();
+        CustomArrayList<Integer> list = new CustomArrayList<>(4, GrowthPolicy.fixed(4));
+        list.setMetricsListener(metrics);
+        // when
+        for (int i = 0; i < 12; i++) {
+            list.add(random.nextInt(1000));
+        }
+        list.add(2, newElement);
+        list.remove(0);
+        list.sortList();
+        // then
+        assertEquals(3, metrics.getResizeCount());
+        assertEquals(4 + 8 + 12, metrics.getCopiedElements());
+        assertTrue(metrics.getCopiedBytes() >= metrics.getCopiedElements() * 4);
+        assertEquals(2, metrics.getShiftCount());
+        assertEquals(10 + 12, metrics.getShiftedElements());
+        assertEquals(12, metrics.getMaxShiftDistance());
+        assertEquals(2, Arrays.stream(metrics.getShiftLatencyHistogram()).sum());
+        assertTrue(metrics.getShiftLatency99thPercentileNanos() > 0);
+        assertEquals(1, metrics.getSortCount());
+        assertTrue(metrics.getComparisonCount() >= list.size() - 1);
+        assertEquals(1, Arrays.stream(metrics.getSortLatencyHistogram()).sum());
+        assertTrue(metrics.getSortLatency99thPercentileNanos() > 0);
+
+        // given
+        ObjectName name = metrics.register("metricsTest-" + random.nextInt());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        // when
+        Object resizeCount = server.getAttribute(name, "ResizeCount");
+        long[] shiftLatency = (long[]) server.getAttribute(name, "ShiftLatencyHistogram");
+        server.unregisterMBean(name);
+        metrics.reset();
+        // then
+        assertEquals(3L, resizeCount);
+        assertEquals(2, Arrays.stream(shiftLatency).sum());
+        assertEquals(0, metrics.getSortCount());
+    }
+
+    @Test
+    public void selectionTest() {
+        // given
+        int size = 100_000;
+        CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            largeList.add(random.nextInt(size / 10));
+        }
+        Object[] expected = largeList.stream().sorted().toArray();
+        int k = random.nextInt(size);
+        CustomArrayList<Integer> snapshot = largeList.snapshot();
+        Integer first = largeList.get(0);
+        // when
+        Integer snapshotKth = snapshot.select(k);
+        Integer kth = largeList.select(k);
+        // then
+        assertEquals(expected[k], kth);
+        assertEquals(expected[k], snapshotKth);
+        assertEquals(first, snapshot.get(0));
+        for (int i = 0; i < size; i++) {
+            assertTrue(i < k ? largeList.get(i) <= kth : largeList.get(i) >= kth);
+        }
+
+        // when
+        CustomArrayList<Integer> greatest = largeList.topK(100, Comparator.reverseOrder());
+        CustomArrayList<Integer> least = largeList.topK(100, null);
+        largeList.partialSort(100);
+        // then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(expected[i], largeList.get(i));
+            assertEquals(expected[i], least.get(i));
+            assertEquals(expected[size - 1 - i], greatest.get(i));
+        }
+        assertTrue(largeList.get(100) >= largeList.get(99));
+        assertEquals(intList.size(), intList.topK(intList.size() + 5, null).size());
+        assertThrows(IllegalArgumentException.class, () -> intList.topK(-1, null),
+                "Index should be a positive number or zero");
+    }
+
+    @Test
+    public void clearAndPoolTest() {
+        // given
+        intList.ensureCapacity(100);
+        CustomArrayList<Integer> snapshot = intList.snapshot();
+        Integer first = intList.get(0);
+        // when
+        intList.clear();
+        // then
+        assertEquals(0, intList.size());
+        assertEquals(100, intList.capacity());
+        assertEquals(10, snapshot.size());
+        assertEquals(first, snapshot.get(0));
+        assertTrue(intList.isSorted());
+        assertThrows(UnsupportedOperationException.class, snapshot::clear, "Snapshot is read-only");
+
+        // when
+        intList.add(newElement);
+        intList.clear(true);
+        // then
+        assertEquals(0, intList.size());
+        assertEquals(10, intList.capacity());
+
+        // given
+        CustomArrayListPool<Integer> pool = new CustomArrayListPool<>(1024, 2);
+        // when
+        CustomArrayList<Integer> acquired = pool.acquire(100);
+        for (int i = 0; i < 100; i++) {
+            acquired.add(random.nextInt(1000));
+        }
+        // then
+        assertEquals(128, acquired.capacity());
+        assertTrue(pool.release(acquired));
+        assertEquals(1, pool.idleCount());
+
+        // when
+        CustomArrayList<Integer> reused = pool.acquire(65);
+        // then
+        assertSame(acquired, reused);
+        assertEquals(0, reused.size());
+        assertEquals(0, pool.idleCount());
+
+        // when
+        CustomArrayList<Integer> large = pool.acquire(2000);
+        // then
+        assertEquals(2000, large.capacity());
+        assertFalse(pool.release(large));
+        assertFalse(pool.release(intList));
+        assertFalse(pool.release(snapshot));
+        assertTrue(pool.release(pool.acquire(16)));
+        assertTrue(pool.release(pool.acquire(16)));
+        assertTrue(pool.release(new CustomArrayList<>(20)));
+        assertFalse(pool.release(new CustomArrayList<>(31)));
+        assertEquals(2, pool.idleCount());
+        assertThrows(IllegalArgumentException.class, () -> pool.acquire(-1),
+                "Size should be a positive number or zero");
+
+        // given
+        CustomArrayListPool<Integer> limitedPool = new CustomArrayListPool<>(100, 2);
+        // when
+        CustomArrayList<Integer> pooled = limitedPool.acquire(64);
+        CustomArrayList<Integer> oversized = limitedPool.acquire(70);
+        // then
+        assertEquals(64, limitedPool.maxRetainedCapacity());
+        assertEquals(64, pooled.capacity());
+        assertEquals(70, oversized.capacity());
+        assertTrue(limitedPool.release(pooled));
+        assertFalse(limitedPool.release(oversized));
+        assertSame(pooled, limitedPool.acquire(33));
+        assertEquals(16, new CustomArrayListPool<Integer>(5, 1).maxRetainedCapacity());
+    }
+
+    @Test
+    public void findAndAggregateTest() {
+        // given
+        int size = 100_000;
+        CustomArrayList<Integer> largeList = new CustomArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            largeList.add(random.nextInt(size));
+        }
+        int target = largeList.get(random.nextInt(size));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        // when
+        int found = largeList.parallelFind(element -> element == target, pool, 1000);
+        int count = largeList.count(element -> element % 3 == 0, pool, 1000);
+        // then
+        assertEquals(largeList.indexOf(target), found);
+        assertEquals(-1, largeList.parallelFind(element -> element < 0));
+        assertEquals(largeList.stream().filter(element -> element % 3 == 0).count(), count);
+        assertEquals(largeList.stream().min(Comparator.naturalOrder()).get(), largeList.min(pool, 1000));
+        assertEquals(largeList.stream().max(Comparator.naturalOrder()).get(), largeList.max());
+
+        // when
+        CustomArrayList<Integer> distinct = largeList.distinct();
+        CustomArrayList<Integer> sequentialDistinct = largeList.distinct(pool, size);
+        CustomArrayList<Integer> withNulls = new CustomArrayList<>(size + 2);
+        largeList.forEach(withNulls::add);
+        withNulls.add(random.nextInt(size), null);
+        withNulls.add(null);
+        CustomArrayList<Integer> distinctWithNulls = withNulls.distinct(pool, 1000);
+        pool.shutdown();
+        // then
+        assertArrayEquals(largeList.stream().distinct().toArray(), distinct.stream().toArray());
+        assertArrayEquals(distinct.stream().toArray(), sequentialDistinct.stream().toArray());
+        assertArrayEquals(withNulls.stream().distinct().toArray(), distinctWithNulls.stream().toArray());
+
+        // when
+        largeList.sortList();
+        CustomArrayList<Integer> sortedDistinct = largeList.distinct();
+        // then
+        assertEquals(distinct.size(), sortedDistinct.size());
+        assertTrue(sortedDistinct.isSorted());
+
+        // given
+        CustomArrayList<BigDecimal> decimals = new CustomArrayList<>();
+        decimals.addAll(new BigDecimal("1.0"), new BigDecimal("1.00"), new BigDecimal("1.0"), BigDecimal.ONE);
+        // when
+        CustomArrayList<BigDecimal> distinctDecimals = decimals.distinct();
+        decimals.sortList();
+        CustomArrayList<BigDecimal> sortedDistinctDecimals = decimals.distinct();
+        // then
+        assertEquals("[1.0, 1.00, 1]", distinctDecimals.toString());
+        assertEquals(3, sortedDistinctDecimals.size());
+        assertTrue(sortedDistinctDecimals.isSorted());
+        assertEquals(largeList.get(0), largeList.min());
+        assertEquals(largeList.get(size - 1), largeList.max());
+        assertThrows(NoSuchElementException.class, () -> new CustomArrayList<Integer>().min(), "List is empty");
+        assertThrows(IllegalArgumentException.class, () -> intList.count(element -> true, pool, 0),
+                "Threshold should be a positive number");
+    }
+}
@@ -2,7 +2,17 @@ package ru.astondevs;
 
 import org.junit.jupiter.api.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -202,4 +212,251 @@ public class CustomArrayListWithStringTest {
             assertTrue(stringList.compare(first, second) <= 0);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void addAllElementsTest() {
+        // given
+        assertEquals(5, stringList.size());
+        // when
+        stringList.addAll("Five", "Six", "Seven", "Eight", "Nine", "Ten");
+        // then
+        assertEquals(11, stringList.size());
+        assertEquals("[Zero, One, Two, Three, Four, Five, Six, Seven, Eight, Nine, Ten]", stringList.toString());
+
+        // when
+        stringList.addAll(1, List.of("A", "B"));
+        stringList.addAll(stringList.size(), List.of("C"));
+        // then
+        assertEquals("[Zero, A, B, One, Two, Three, Four, Five, Six, Seven, Eight, Nine, Ten, C]",
+                stringList.toString());
+
+        // given
+        int wrongIndex = stringList.size() + 1;
+        // when, then
+        assertThrows(IndexOutOfBoundsException.class, () -> stringList.addAll(wrongIndex, List.of(newElement)),
+                String.format("Index %d out of bounds for length %d", wrongIndex, stringList.size()));
+    }
+
+    @Test
+    public void removeRangeTest() {
+        // when
+        stringList.removeRange(1, 3);
+        // then
+        assertEquals("[Zero, Three, Four]", stringList.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> stringList.get(3),
+                String.format("Index %d out of bounds for length %d", 3, stringList.size()));
+        assertThrows(IllegalArgumentException.class, () -> stringList.removeRange(2, 1),
+                "From index 2 is greater than to index 1");
+        assertThrows(IndexOutOfBoundsException.class, () -> stringList.removeRange(0, 4),
+                String.format("Index %d out of bounds for length %d", 4, stringList.size()));
+    }
+
+    @Test
+    public void removeIfAndRetainAllTest() {
+        // when
+        boolean removed = stringList.removeIf(element -> element.startsWith("T"));
+        // then
+        assertTrue(removed);
+        assertEquals("[Zero, One, Four]", stringList.toString());
+
+        // when
+        boolean retained = stringList.retainAll(Set.of("One", "Four", newElement));
+        // then
+        assertTrue(retained);
+        assertEquals("[One, Four]", stringList.toString());
+        assertFalse(stringList.retainAll(Set.of("One", "Four")));
+
+        // given
+        stringList.enableLookupIndex();
+        assertTrue(stringList.contains("Four"));
+        // when, then
+        assertThrows(IllegalStateException.class, () -> stringList.removeIf(element -> {
+            if (element.equals("Four")) {
+                throw new IllegalStateException();
+            }
+            return true;
+        }));
+        assertEquals("[One, Four]", stringList.toString());
+        assertTrue(stringList.contains("One"));
+
+        // given
+        ListMetrics metrics = new ListMetrics();
+        stringList.setMetricsListener(metrics);
+        CustomArrayList<String> snapshot = stringList.snapshot();
+        // when
+        removed = stringList.removeIf(element -> element.isEmpty());
+        // then
+        assertFalse(removed);
+        assertEquals(0, metrics.getCopiedElements());
+        assertEquals("[One, Four]", snapshot.toString());
+    }
+
+    @Test
+    public void stableSortWithComparatorTest() {
+        // given
+        stringList.addAll("Five", "Six", "Seven");
+        // when
+        stringList.sortList(null);
+        stringList.sortList(Comparator.comparingInt(String::length));
+        // then
+        assertEquals("[One, Six, Two, Five, Four, Zero, Seven, Three]", stringList.toString());
+    }
+
+    @Test
+    public void writeAndReadSnapshotTest() throws IOException {
+        // given
+        stringList.add("Юникод");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // when
+        stringList.writeTo(out, ElementCodec.STRING);
+        CustomArrayList<String> restoredList =
+                CustomArrayList.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.STRING);
+        // then
+        assertEquals(stringList.size(), restoredList.size());
+        assertEquals(stringList.toString(), restoredList.toString());
+        assertThrows(IOException.class,
+                () -> CustomArrayList.readFrom(new ByteArrayInputStream(out.toByteArray()), ElementCodec.INTEGER),
+                "Snapshot was written by codec 'string', not 'int'");
+
+        // given
+        byte[] hugeSize = out.toByteArray();
+        byte[] negativeLength = out.toByteArray();
+        byte[] hugeLength = out.toByteArray();
+        // the size follows the magic, the version, the codec name and the record size, then the first string
+        ByteBuffer.wrap(hugeSize).putInt(20, Integer.MAX_VALUE);
+        ByteBuffer.wrap(negativeLength).putInt(24, -1);
+        ByteBuffer.wrap(hugeLength).putInt(24, Integer.MAX_VALUE);
+        // when, then
+        for (byte[] corrupted : List.of(hugeSize, negativeLength, hugeLength)) {
+            assertThrows(IOException.class,
+                    () -> CustomArrayList.readFrom(new ByteArrayInputStream(corrupted), ElementCodec.STRING));
+        }
+
+        // given
+        CustomArrayList<String> secondList = new CustomArrayList<>();
+        secondList.add(newElement);
+        secondList.writeTo(out, ElementCodec.STRING);
+        out.write(new byte[]{7, 8});
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        // when
+        CustomArrayList<String> first = CustomArrayList.readFrom(in, ElementCodec.STRING);
+        CustomArrayList<String> second = CustomArrayList.readFrom(in, ElementCodec.STRING);
+        // then
+        assertEquals(stringList.toString(), first.toString());
+        assertEquals(secondList.toString(), second.toString());
+        assertEquals(7, in.read());
+        assertEquals(8, in.read());
+    }
+
+    @Test
+    public void snapshotTest() {
+        // given
+        CustomArrayList<String> snapshot = stringList.snapshot();
+        assertTrue(snapshot.isReadOnly());
+        // when
+        stringList.add(newElement);
+        stringList.add(0, newElement);
+        stringList.set(1, newElement);
+        stringList.remove(2);
+        stringList.sortList();
+        // then
+        assertEquals("[Zero, One, Two, Three, Four]", snapshot.toString());
+        assertEquals("[Five, Five, Five, Four, Three, Two]", stringList.toString());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(newElement),
+                "Snapshot is read-only");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0),
+                "Snapshot is read-only");
+        assertSame(snapshot, snapshot.snapshot());
+    }
+
+    @Test
+    public void iterationTest() {
+        // given
+        StringBuilder joined = new StringBuilder();
+        // when
+        for (String element : stringList) {
+            joined.append(element);
+        }
+        // then
+        assertEquals("ZeroOneTwoThreeFour", joined.toString());
+
+        // given
+        CustomArrayList<String>.Cursor cursor = stringList.cursor();
+        // when
+        while (cursor.advance()) {
+            if (cursor.element().startsWith("T")) {
+                cursor.remove();
+            }
+        }
+        // then
+        assertEquals("[Zero, One, Four]", stringList.toString());
+
+        // when
+        cursor.reset();
+        cursor.advance();
+        // then
+        assertEquals(0, cursor.index());
+        assertEquals("Zero", cursor.element());
+
+        // given
+        Iterator<String> iterator = stringList.iterator();
+        iterator.next();
+        // when
+        stringList.add(newElement);
+        // then
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> stringList.forEach(element -> stringList.remove(0)));
+    }
+
+    @Test
+    public void orderedReduceTest() {
+        // given
+        CustomArrayList<String> letters = new CustomArrayList<>();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            String letter = String.valueOf((char) ('a' + random.nextInt(26)));
+            letters.add(letter);
+            expected.append(letter);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        // when
+        String result = letters.reduce("", String::concat, pool, 16);
+        pool.shutdown();
+        // then
+        assertEquals(expected.toString(), result);
+    }
+
+    @Test
+    public void viewsTest() {
+        // given
+        CustomArrayList<String>.View<String> middle = stringList.subList(1, 4);
+        CustomArrayList<String>.View<String> reversed = stringList.reversedView();
+        CustomArrayList<String>.View<Integer> lengths = stringList.mapped(String::length);
+        // when, then
+        assertEquals("[One, Two, Three]", middle.toString());
+        assertEquals("[Four, Three, Two, One, Zero]", reversed.toString());
+        assertEquals("[4, 3, 3, 5, 4]", lengths.toString());
+        assertEquals("[Three, Two]", middle.reversedView().subList(0, 2).toString());
+        assertEquals("[5, 3]", middle.reversedView().mapped(String::length).subList(0, 2).toString());
+        assertEquals(2, reversed.indexOf("Two"));
+        assertThrows(IndexOutOfBoundsException.class, () -> middle.get(3),
+                String.format("Index %d out of bounds for length %d", 3, 3));
+        assertThrows(UnsupportedOperationException.class, () -> lengths.set(0, 1), "Mapped view is read-only");
+
+        // when
+        middle.set(0, newElement);
+        reversed.sortList(null);
+        // then
+        assertEquals("[Five, Four, Three, Two, Zero]", reversed.toString());
+        assertEquals("[Zero, Two, Three, Four, Five]", stringList.toString());
+        assertEquals(2, reversed.binarySearch("Three", null));
+        assertEquals(4, reversed.mapped(element -> element.charAt(0)).binarySearch('Z', null));
+        assertEquals(-1, reversed.subList(1, 5).binarySearch("Apple", Comparator.naturalOrder()));
+
+        // when
+        stringList.add(newElement);
+        // then
+        assertThrows(ConcurrentModificationException.class, middle::size);
+        assertThrows(ConcurrentModificationException.class, () -> lengths.get(0));
+    }
+}
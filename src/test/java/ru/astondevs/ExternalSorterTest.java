@@ -0,0 +1,150 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class ExternalSorterTest {
+    static Random random;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @Test
+    public void sortWithSpilledRunsTest() throws IOException {
+        // given
+        List<Integer> input = new ArrayList<>();
+        for (int i = 0; i < 25_000; i++) {
+            input.add(random.nextInt());
+        }
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(ElementCodec.INTEGER, 1000, directory);
+        // when
+        List<Integer> result;
+        try (Stream<Integer> sorted = sorter.sort(input.iterator())) {
+            assertEquals(25, Files.list(directory).count());
+            result = sorted.collect(Collectors.toList());
+        }
+        // then
+        input.sort(null);
+        assertEquals(input, result);
+        assertEquals(0, Files.list(directory).count());
+    }
+
+    @Test
+    public void sortWithIntermediateMergePassTest() throws IOException {
+        // given
+        int size = (ExternalSorter.MAX_FAN_IN * 3 + 1) * 10;
+        List<String> input = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            input.add(Integer.toString(random.nextInt(100)));
+        }
+        ExternalSorter<String> sorter = new ExternalSorter<>(ElementCodec.STRING, 10, directory,
+                Comparator.comparing(String::length));
+        // when
+        List<String> result;
+        try (Stream<String> sorted = sorter.sort(input.stream())) {
+            result = sorted.collect(Collectors.toList());
+        }
+        // then
+        input.sort(Comparator.comparing(String::length));
+        assertEquals(input, result);
+        assertEquals(0, Files.list(directory).count());
+    }
+
+    @Test
+    public void sortInMemoryTest() throws IOException {
+        // given
+        ExternalSorter<Integer> sorter = new ExternalSorter<>(ElementCodec.INTEGER, 100, directory);
+        // when
+        List<Integer> result = sorter.sort(Stream.of(5, 3, 9, 1)).collect(Collectors.toList());
+        // then
+        assertEquals(List.of(1, 3, 5, 9), result);
+        assertEquals(0, Files.list(directory).count());
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExternalSorter<>(ElementCodec.INTEGER, 0, directory),
+                "Buffer size should be a positive number");
+    }
+
+    @Test
+    public void stableSortTest() throws IOException {
+        // given
+        List<Item> input = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            input.add(new Item(random.nextInt(10), i));
+        }
+        ExternalSorter<Item> sorter = new ExternalSorter<>(Item.CODEC, 100, directory);
+        ExternalSorter<Item> inMemorySorter = new ExternalSorter<>(Item.CODEC, 10_000, directory);
+        // when
+        List<Item> result;
+        try (Stream<Item> sorted = sorter.sort(input.iterator())) {
+            assertEquals(25, Files.list(directory).count());
+            result = sorted.collect(Collectors.toList());
+        }
+        List<Item> inMemoryResult = inMemorySorter.sort(input.iterator()).collect(Collectors.toList());
+        // then
+        for (List<Item> items : List.of(result, inMemoryResult)) {
+            assertEquals(input.size(), items.size());
+            for (int i = 1; i < items.size(); i++) {
+                Item previous = items.get(i - 1);
+                Item current = items.get(i);
+                assertTrue(previous.key < current.key
+                        || (previous.key == current.key && previous.sequence < current.sequence));
+            }
+        }
+    }
+
+    /**
+     * Element whose order depends only on the key, the sequence shows the input position.
+     */
+    static final class Item implements Comparable<Item> {
+        static final ElementCodec<Item> CODEC = new ElementCodec<>() {
+            @Override
+            public String name() {
+                return "item";
+            }
+
+            @Override
+            public void write(DataOutput out, Item element) throws IOException {
+                out.writeInt(element.key);
+                out.writeInt(element.sequence);
+            }
+
+            @Override
+            public Item read(DataInput in) throws IOException {
+                return new Item(in.readInt(), in.readInt());
+            }
+        };
+
+        final int key;
+        final int sequence;
+
+        Item(int key, int sequence) {
+            this.key = key;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Item other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+}
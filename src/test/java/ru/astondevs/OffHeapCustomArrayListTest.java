@@ -0,0 +1,152 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class OffHeapCustomArrayListTest {
+    OffHeapCustomArrayList<Long> longList;
+    List<Long> expected;
+
+    static Random random;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @BeforeEach
+    void setUp() {
+        longList = new OffHeapCustomArrayList<>(RecordCodec.LONG, 16);
+        expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            long element = random.nextLong();
+            longList.add(element);
+            expected.add(element);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        longList.close();
+    }
+
+    @Test
+    public void addAndRemoveAcrossChunksTest() {
+        // when
+        for (int i = 0; i < 50; i++) {
+            int index = random.nextInt(longList.size());
+            long element = random.nextLong();
+            longList.add(index, element);
+            expected.add(index, element);
+            int removedIndex = random.nextInt(longList.size());
+            longList.remove(removedIndex);
+            expected.remove(removedIndex);
+            longList.add(element);
+            expected.add(element);
+        }
+        // then
+        assertEquals(expected.size(), longList.size());
+        assertEquals(expected.toString(), longList.toString());
+        assertEquals(160, longList.capacity());
+
+        // given
+        int wrongIndex = longList.size();
+        // when, then
+        assertThrows(IndexOutOfBoundsException.class, () -> longList.get(wrongIndex),
+                String.format("Index %d out of bounds for length %d", wrongIndex, longList.size()));
+    }
+
+    @Test
+    public void closeListTest() {
+        // when
+        longList.close();
+        // then
+        assertTrue(longList.isClosed());
+        assertThrows(IllegalStateException.class, () -> longList.get(0), "List is closed");
+        assertDoesNotThrow(() -> longList.close());
+    }
+
+    @Test
+    public void mappedListTest(@TempDir Path directory) throws IOException {
+        // given
+        try (OffHeapCustomArrayList<Integer> mappedList =
+                     OffHeapCustomArrayList.mapped(directory.resolve("list.bin"), RecordCodec.INTEGER, 1000)) {
+            // when
+            for (int i = 0; i < 5000; i++) {
+                mappedList.add(i);
+            }
+            mappedList.set(0, -1);
+            mappedList.remove(1);
+            // then
+            assertEquals(4999, mappedList.size());
+            assertEquals(-1, mappedList.get(0));
+            assertEquals(2, mappedList.get(1));
+            assertEquals(4999, mappedList.get(4998));
+        }
+    }
+
+    @Test
+    public void reopenMappedListTest(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("list.bin");
+        try (OffHeapCustomArrayList<Double> mappedList = OffHeapCustomArrayList.mapped(file, RecordCodec.DOUBLE, 100)) {
+            for (int i = 0; i < 1000; i++) {
+                mappedList.add(i / 2.0);
+            }
+            mappedList.remove(0);
+        }
+        // when
+        try (OffHeapCustomArrayList<Double> reopened = OffHeapCustomArrayList.open(file, RecordCodec.DOUBLE)) {
+            // then
+            assertEquals(999, reopened.size());
+            assertEquals(0.5, reopened.get(0));
+            assertEquals(499.5, reopened.getDouble(998));
+
+            // when
+            reopened.setDouble(0, -1.0);
+            reopened.add(1000.0);
+        }
+        try (OffHeapCustomArrayList<Double> reopened = OffHeapCustomArrayList.open(file, RecordCodec.DOUBLE)) {
+            // then
+            assertEquals(1000, reopened.size());
+            assertEquals(-1.0, reopened.getDouble(0));
+            assertEquals(1000.0, reopened.get(999));
+        }
+        assertThrows(IOException.class, () -> OffHeapCustomArrayList.open(file, RecordCodec.INTEGER));
+        assertThrows(IOException.class, () -> OffHeapCustomArrayList.open(Files.write(directory.resolve("other.bin"),
+                new byte[32]), RecordCodec.DOUBLE), "File is not an off-heap list");
+    }
+
+    @Test
+    public void primitiveAccessTest() {
+        // given
+        int index = random.nextInt(longList.size());
+        long element = random.nextLong();
+        // when
+        longList.setLong(index, element);
+        // then
+        assertEquals(element, longList.getLong(index));
+        assertEquals(element, longList.get(index));
+        assertEquals(expected.get(0), longList.getLong(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> longList.getLong(longList.size()),
+                String.format("Index %d out of bounds for length %d", longList.size(), longList.size()));
+
+        // given
+        try (OffHeapCustomArrayList<Integer> intList = new OffHeapCustomArrayList<>(RecordCodec.INTEGER, 8)) {
+            intList.add(7);
+            // when, then
+            assertEquals(7, intList.getInt(0));
+            assertThrows(UnsupportedOperationException.class, () -> intList.getLong(0));
+        }
+    }
+}
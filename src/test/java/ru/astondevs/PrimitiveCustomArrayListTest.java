@@ -0,0 +1,171 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class PrimitiveCustomArrayListTest {
+    IntCustomArrayList intList;
+    int newElement;
+
+    static Random random;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @BeforeEach
+    void setUp() {
+        intList = new IntCustomArrayList();
+        for (int i = 0; i < 10; i++) {
+            intList.add(random.nextInt(1000));
+        }
+
+        newElement = random.nextInt(1000) + 1000;
+    }
+
+    @Test
+    public void addAndRemoveElementTest() {
+        // given
+        assertEquals(10, intList.size());
+        // when
+        intList.add(3, newElement);
+        // then
+        assertEquals(11, intList.size());
+        assertEquals(newElement, intList.get(3));
+        assertTrue(intList.contains(newElement));
+
+        // when
+        intList.removeValue(newElement);
+        // then
+        assertEquals(10, intList.size());
+        assertFalse(intList.contains(newElement));
+
+        // given
+        int wrongIndex = intList.size();
+        // when, then
+        assertThrows(IndexOutOfBoundsException.class, () -> intList.remove(wrongIndex),
+                String.format("Index %d out of bounds for length %d", wrongIndex, intList.size()));
+        assertThrows(IllegalArgumentException.class, () -> intList.set(-1, newElement),
+                "Index should be a positive number or zero");
+    }
+
+    @Test
+    public void sortIntListTest() {
+        // given
+        int size = 100_000;
+        IntCustomArrayList largeList = new IntCustomArrayList(size);
+        IntCustomArrayList narrowList = new IntCustomArrayList(size);
+        for (int i = 0; i < size; i++) {
+            largeList.add(random.nextInt());
+            narrowList.add(random.nextInt(100) - 50);
+        }
+        int[] expectedLarge = largeList.toArray();
+        int[] expectedNarrow = narrowList.toArray();
+        Arrays.sort(expectedLarge);
+        Arrays.sort(expectedNarrow);
+        // when
+        largeList.sortList();
+        narrowList.sortList();
+        intList.sortList();
+        // then
+        assertArrayEquals(expectedLarge, largeList.toArray());
+        assertArrayEquals(expectedNarrow, narrowList.toArray());
+        for (int i = 0; i < intList.size() - 1; i++) {
+            assertTrue(intList.get(i) <= intList.get(i + 1));
+        }
+    }
+
+    @Test
+    public void sortLongListTest() {
+        // given
+        LongCustomArrayList longList = new LongCustomArrayList();
+        for (int i = 0; i < 10_000; i++) {
+            longList.add(random.nextLong());
+        }
+        long[] expected = longList.toArray();
+        Arrays.sort(expected);
+        // when
+        longList.sortList();
+        // then
+        assertArrayEquals(expected, longList.toArray());
+    }
+
+    @Test
+    public void sortDoubleListTest() {
+        // given
+        DoubleCustomArrayList doubleList = new DoubleCustomArrayList();
+        doubleList.addAll(Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < 10_000; i++) {
+            doubleList.add(random.nextGaussian() * 1e6);
+        }
+        double[] expected = doubleList.toArray();
+        Arrays.sort(expected);
+        // when
+        doubleList.sortList();
+        // then
+        assertArrayEquals(expected, doubleList.toArray());
+        assertTrue(doubleList.contains(Double.NaN));
+    }
+
+    @Test
+    public void writeAndReadLongSnapshotTest(@TempDir Path directory) throws IOException {
+        // given
+        Path file = directory.resolve("longs.snapshot");
+        LongCustomArrayList longList = new LongCustomArrayList();
+        for (int i = 0; i < 50_000; i++) {
+            longList.add(random.nextLong());
+        }
+        // when
+        longList.writeTo(file);
+        LongCustomArrayList restoredList = LongCustomArrayList.readFrom(file);
+        // then
+        assertArrayEquals(longList.toArray(), restoredList.toArray());
+    }
+
+    @Test
+    public void compactSortedListTest() {
+        // given
+        int size = 10_000;
+        IntCustomArrayList ids = new IntCustomArrayList(size);
+        CustomArrayList<Integer> boxedIds = new CustomArrayList<>(size);
+        int id = random.nextInt(1000) - 500;
+        for (int i = 0; i < size; i++) {
+            id += random.nextInt(i % 1000 == 0 ? Integer.MAX_VALUE / size : 100);
+            ids.add(id);
+            boxedIds.add(id);
+        }
+        ids.add(ids.get(size - 1));
+        boxedIds.add(ids.get(size - 1));
+        // when
+        CompressedIntList compressed = ids.compact();
+        CompressedIntList compressedFromBoxed = CompressedIntList.of(boxedIds);
+        // then
+        assertArrayEquals(ids.toArray(), compressed.toArray());
+        assertArrayEquals(ids.toArray(), compressedFromBoxed.toArray());
+        assertTrue(compressed.sizeInBytes() < size * 3L);
+        for (int i = 0; i < 1000; i++) {
+            int index = random.nextInt(ids.size());
+            assertEquals(ids.get(index), compressed.get(index));
+            assertEquals(ids.indexOf(ids.get(index)), compressed.indexOf(ids.get(index)));
+            int value = random.nextInt();
+            assertEquals(ids.indexOf(value), compressed.indexOf(value));
+        }
+        assertFalse(compressed.contains(Integer.MIN_VALUE));
+        assertEquals(size, compressed.indexOf(ids.get(size)) + 1);
+
+        // given
+        intList.addAll(5, 1);
+        // when, then
+        assertThrows(IllegalStateException.class, intList::compact, "List should be sorted in ascending order");
+        assertEquals("[-5, 0, 7]", CompressedIntList.of(-5, 0, 7).toString());
+    }
+}
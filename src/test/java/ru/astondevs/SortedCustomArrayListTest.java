@@ -0,0 +1,87 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class SortedCustomArrayListTest {
+    SortedCustomArrayList<Integer> sortedList;
+
+    static Random random;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @BeforeEach
+    void setUp() {
+        sortedList = new SortedCustomArrayList<>();
+        sortedList.addAll(50, 10, 40, 20, 30);
+    }
+
+    @Test
+    public void addKeepsOrderTest() {
+        // when
+        int index = sortedList.add(25);
+        // then
+        assertEquals(2, index);
+        assertEquals("[10, 20, 25, 30, 40, 50]", sortedList.toString());
+
+        // when
+        sortedList.remove((Integer) 25);
+        sortedList.remove(0);
+        // then
+        assertEquals("[20, 30, 40, 50]", sortedList.toString());
+        assertFalse(sortedList.contains(10));
+        assertThrows(NullPointerException.class, () -> sortedList.add(null), "Element should not be null");
+        assertThrows(IndexOutOfBoundsException.class, () -> sortedList.get(4),
+                String.format("Index %d out of bounds for length %d", 4, sortedList.size()));
+    }
+
+    @Test
+    public void rangeQueriesTest() {
+        // when, then
+        assertEquals(20, sortedList.floor(25));
+        assertEquals(20, sortedList.floor(20));
+        assertNull(sortedList.floor(5));
+        assertEquals(30, sortedList.ceiling(25));
+        assertNull(sortedList.ceiling(55));
+        assertEquals(2, sortedList.rank(30));
+        assertEquals(5, sortedList.rank(100));
+        assertEquals("[20, 30]", sortedList.subRange(15, 40).toString());
+        assertEquals("[]", sortedList.subRange(41, 49).toString());
+        assertThrows(IllegalArgumentException.class, () -> sortedList.subRange(40, 15),
+                "From element is greater than to element");
+    }
+
+    @Test
+    public void mergeBatchesTest() {
+        // given
+        SortedCustomArrayList<Integer> list = new SortedCustomArrayList<>(Comparator.<Integer>reverseOrder());
+        List<Integer> expected = new ArrayList<>();
+        // when
+        for (int batch = 0; batch < 20; batch++) {
+            List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(500); i++) {
+                elements.add(random.nextInt(1000));
+            }
+            list.addAll(elements);
+            list.add(batch);
+            expected.addAll(elements);
+            expected.add(batch);
+        }
+        expected.sort(Comparator.reverseOrder());
+        // then
+        assertArrayEquals(expected.toArray(), list.toArray());
+        for (Integer element : expected) {
+            assertTrue(list.indexOf(element) >= 0);
+        }
+    }
+}
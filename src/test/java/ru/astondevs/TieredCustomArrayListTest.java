@@ -0,0 +1,119 @@
+package ru.astondevs;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.Random.class)
+class TieredCustomArrayListTest {
+    TieredCustomArrayList<Integer> tieredList;
+    Integer newElement;
+
+    static Random random;
+
+    @BeforeAll
+    static void beforeAll() {
+        random = new Random();
+    }
+
+    @BeforeEach
+    void setUp() {
+        tieredList = new TieredCustomArrayList<>(4);
+        for (int i = 0; i < 10; i++) {
+            tieredList.add(random.nextInt(1000));
+        }
+
+        newElement = random.nextInt(1000) + 1000;
+    }
+
+    @Test
+    public void addAndRemoveElementTest() {
+        // given
+        assertEquals(10, tieredList.size());
+        // when
+        tieredList.add(3, newElement);
+        // then
+        assertEquals(11, tieredList.size());
+        assertEquals(newElement, tieredList.get(3));
+        assertTrue(tieredList.contains(newElement));
+
+        // when
+        tieredList.remove(newElement);
+        // then
+        assertEquals(10, tieredList.size());
+        assertFalse(tieredList.contains(newElement));
+
+        // given
+        int wrongIndex = tieredList.size();
+        // when, then
+        assertThrows(IndexOutOfBoundsException.class, () -> tieredList.remove(wrongIndex),
+                String.format("Index %d out of bounds for length %d", wrongIndex, tieredList.size()));
+        assertThrows(IllegalArgumentException.class, () -> tieredList.get(-1),
+                "Index should be a positive number or zero");
+    }
+
+    @Test
+    public void randomOperationsMatchArrayListTest() {
+        // given
+        TieredCustomArrayList<Integer> list = new TieredCustomArrayList<>(8);
+        List<Integer> expected = new ArrayList<>();
+        // when
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(5);
+            if (expected.isEmpty() || operation == 0) {
+                Integer element = random.nextInt();
+                list.add(element);
+                expected.add(element);
+            } else if (operation <= 2) {
+                int index = random.nextInt(expected.size());
+                Integer element = random.nextInt();
+                list.add(index, element);
+                expected.add(index, element);
+            } else if (operation == 3) {
+                int index = random.nextInt(expected.size());
+                list.remove(index);
+                expected.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                Integer element = random.nextInt();
+                list.set(index, element);
+                expected.set(index, element);
+            }
+        }
+        // then
+        assertEquals(expected.size(), list.size());
+        assertArrayEquals(expected.toArray(), list.toArray());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    public void sortListTest() {
+        // given
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < tieredList.size(); i++) {
+            expected.add(tieredList.get(i));
+        }
+        // when
+        tieredList.add(5, newElement);
+        tieredList.remove(0);
+        expected.add(5, newElement);
+        expected.remove(0);
+        tieredList.sortList();
+        expected.sort(null);
+        // then
+        assertArrayEquals(expected.toArray(), tieredList.toArray());
+
+        // when
+        tieredList.sortList(Comparator.reverseOrder());
+        expected.sort(Comparator.reverseOrder());
+        // then
+        assertEquals(expected.toString(), tieredList.toString());
+    }
+}